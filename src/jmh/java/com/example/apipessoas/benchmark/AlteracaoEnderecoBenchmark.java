@@ -0,0 +1,52 @@
+package com.example.apipessoas.benchmark;
+
+import com.example.apipessoas.dto.AlteracaoEndereco;
+import com.example.apipessoas.model.Endereco;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.BeanUtils;
+
+import java.util.concurrent.TimeUnit;
+
+// BeanUtils.copyProperties, usado antes nas atualizações, contra AlteracaoEndereco, que só escreve o que mudou
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AlteracaoEnderecoBenchmark {
+
+	private Endereco recebido;
+
+	private Endereco gravado;
+
+	@Setup
+	public void iniciar() {
+		recebido = ContextoBenchmark.novoEndereco();
+		gravado = ContextoBenchmark.novoEndereco().withId(1L).withCep("01310-100");
+	}
+
+	@Benchmark
+	public Endereco copiarPorReflexao() {
+		Endereco destino = gravado.withNumero(gravado.getNumero());
+		BeanUtils.copyProperties(recebido, destino, "id", "pessoaId", "cepNumerico", "versao");
+		return destino;
+	}
+
+	@Benchmark
+	public Endereco aplicarAlteracao() {
+		Endereco destino = gravado.withNumero(gravado.getNumero());
+		AlteracaoEndereco.de(recebido).aplicarEm(destino);
+		return destino;
+	}
+
+}
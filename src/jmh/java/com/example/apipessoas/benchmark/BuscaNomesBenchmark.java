@@ -0,0 +1,86 @@
+package com.example.apipessoas.benchmark;
+
+import com.example.apipessoas.repository.NomePessoa;
+import com.example.apipessoas.service.IndiceNomesPessoas;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Para 10 milhões de nomes: java -cp ... org.openjdk.jmh.Main BuscaNomes -p volume=10000000 -jvmArgs -Xmx12g
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class BuscaNomesBenchmark {
+
+	private static final String[] PRENOMES = {"José", "Maria", "João", "Ana", "Antônio", "Francisca", "Carlos",
+			"Paulo", "Adriana", "Lucas", "Juliana", "Márcio", "Fernanda", "Luíza", "Gabriel", "Letícia"};
+
+	private static final String[] SOBRENOMES = {"Silva", "Santos", "Oliveira", "Souza", "Rodrigues", "Ferreira",
+			"Alves", "Pereira", "Lima", "Gomes", "Conceição", "Ribeiro", "Araújo", "Carvalho", "Simões", "Brandão"};
+
+	private static final int TAMANHO_PAGINA = 20;
+
+	@Param({"1000000"})
+	private int volume;
+
+	private IndiceNomesPessoas indice;
+
+	@Setup
+	public void iniciar() {
+		indice = new IndiceNomesPessoas();
+		SplittableRandom random = new SplittableRandom(42);
+		List<NomePessoa> lote = new ArrayList<>();
+		for (long id = 1; id <= volume; id++) {
+			// O terceiro termo é quase único por pessoa, como um sobrenome incomum
+			lote.add(new NomePessoa(id, PRENOMES[random.nextInt(PRENOMES.length)] + " "
+					+ SOBRENOMES[random.nextInt(SOBRENOMES.length)] + " x" + Long.toString(id, 36)));
+			if (lote.size() == 10_000) {
+				indice.carregar(lote);
+				lote = new ArrayList<>();
+			}
+		}
+		indice.carregar(lote);
+	}
+
+	@Benchmark
+	public List<Long> buscarTermoSeletivo() {
+		return indice.buscar("x2ab", 0, TAMANHO_PAGINA);
+	}
+
+	@Benchmark
+	public List<Long> buscarPrenomeESobrenomeSeletivo() {
+		return indice.buscar("jose x2ab", 0, TAMANHO_PAGINA);
+	}
+
+	@Benchmark
+	public List<Long> buscarPrenomeComum() {
+		return indice.buscar("maria", 0, TAMANHO_PAGINA);
+	}
+
+	@Benchmark
+	public List<Long> buscarPrenomeESobrenomeComuns() {
+		return indice.buscar("maria silva", 0, TAMANHO_PAGINA);
+	}
+
+	@Benchmark
+	public List<Long> buscarPrefixoCurto() {
+		return indice.buscar("fe", 0, TAMANHO_PAGINA);
+	}
+
+}
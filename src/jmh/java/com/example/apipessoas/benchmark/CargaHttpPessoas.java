@@ -0,0 +1,251 @@
+package com.example.apipessoas.benchmark;
+
+import com.example.apipessoas.config.ReativoConfig;
+import com.example.apipessoas.config.ThreadsVirtuaisConfig;
+import com.example.apipessoas.controller.PessoaController;
+import com.example.apipessoas.model.Pessoa;
+import com.example.apipessoas.service.PessoaService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.PoolMetrics;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToIntFunction;
+import java.util.stream.IntStream;
+
+// ./mvnw -Pbenchmark test-compile exec:exec@carga -Dcarga.modo=plataforma|virtual|reativo (virtual exige Java 21).
+// Cliente e servidor rodam na mesma JVM: com milhares de conexões, aumente o ulimit -n. Nos modos servlet os caches
+// atendem as leituras repetidas e a variante reativa vai ao banco em toda requisição, então as conexões medidas
+// não são comparáveis uma a uma
+public class CargaHttpPessoas {
+
+	private static final int VOLUME = 10_000;
+
+	private static final int ENDERECOS_POR_PESSOA = 3;
+
+	private static final int TAMANHO_LOTE = 500;
+
+	private static final Duration AQUECIMENTO = Duration.ofSeconds(15);
+
+	private static final Duration INTERVALO_AMOSTRAGEM = Duration.ofMillis(50);
+
+	// Poucas threads fixas no cliente, para que o pico de threads medido seja o do servidor
+	private final HttpClient cliente = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.connectTimeout(Duration.ofSeconds(10))
+			.executor(Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), tarefa -> {
+				Thread thread = new Thread(tarefa, "cliente-carga");
+				thread.setDaemon(true);
+				return thread;
+			}))
+			.build();
+
+	private final String base;
+
+	private final long primeiroId;
+
+	private final long ultimoId;
+
+	private CargaHttpPessoas(String base, long primeiroId, long ultimoId) {
+		this.base = base;
+		this.primeiroId = primeiroId;
+		this.ultimoId = ultimoId;
+	}
+
+	public static void main(String[] args) throws Exception {
+		String modo = args.length > 0 ? args[0] : "plataforma";
+		int conexoes = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+		Duration duracao = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 30);
+		Path diretorio = Path.of(args.length > 3 ? args[3] : "target");
+
+		String[] perfis = switch (modo) {
+			case "plataforma" -> new String[0];
+			case "virtual" -> new String[] {ThreadsVirtuaisConfig.PERFIL};
+			case "reativo" -> new String[] {ReativoConfig.PERFIL};
+			default -> throw new IllegalArgumentException(
+					"Modo desconhecido: " + modo + " (use plataforma, virtual ou reativo)");
+		};
+
+		try (ConfigurableApplicationContext contexto = ContextoBenchmark.iniciarServidor(Map.of(), perfis)) {
+			long[] ids = popular(contexto.getBean(PessoaService.class));
+			String base = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port")
+					+ PessoaController.PATH + "/";
+			CargaHttpPessoas carga = new CargaHttpPessoas(base, ids[0], ids[1]);
+
+			carga.executar(conexoes, AQUECIMENTO);
+			Amostragem amostragem = new Amostragem(contexto);
+			Resultado resultado = carga.executar(conexoes, duracao);
+			amostragem.encerrar();
+
+			Map<String, Object> relatorio = resultado.relatorio(modo, conexoes, duracao, amostragem);
+			Files.createDirectories(diretorio);
+			Path arquivo = diretorio.resolve("carga-" + modo + ".json");
+			new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(arquivo.toFile(), relatorio);
+			System.out.println(relatorio);
+			System.out.println("Resultado gravado em " + arquivo);
+		}
+	}
+
+	private static long[] popular(PessoaService pessoaService) {
+		long primeiroId = Long.MAX_VALUE;
+		long ultimoId = Long.MIN_VALUE;
+		for (int i = 0; i < VOLUME; i += TAMANHO_LOTE) {
+			List<Pessoa> lote = IntStream.range(0, Math.min(TAMANHO_LOTE, VOLUME - i))
+					.mapToObj(n -> ContextoBenchmark.novaPessoa(ENDERECOS_POR_PESSOA))
+					.toList();
+			for (Pessoa pessoa : pessoaService.salvarTodas(lote)) {
+				primeiroId = Math.min(primeiroId, pessoa.getId());
+				ultimoId = Math.max(ultimoId, pessoa.getId());
+			}
+		}
+		return new long[] {primeiroId, ultimoId};
+	}
+
+	private Resultado executar(int conexoes, Duration duracao) throws InterruptedException {
+		Resultado resultado = new Resultado();
+		long fim = System.nanoTime() + duracao.toNanos();
+		CountDownLatch clientes = new CountDownLatch(conexoes);
+		for (int i = 0; i < conexoes; i++) {
+			enviar(resultado, fim, clientes);
+		}
+		clientes.await();
+		return resultado;
+	}
+
+	private void enviar(Resultado resultado, long fim, CountDownLatch clientes) {
+		if (System.nanoTime() >= fim) {
+			clientes.countDown();
+			return;
+		}
+		long id = ThreadLocalRandom.current().nextLong(primeiroId, ultimoId + 1);
+		HttpRequest requisicao = HttpRequest.newBuilder(URI.create(base + id))
+				.timeout(Duration.ofSeconds(30))
+				.build();
+		long inicio = System.nanoTime();
+		cliente.sendAsync(requisicao, HttpResponse.BodyHandlers.discarding())
+				.whenComplete((resposta, erro) -> {
+					resultado.registrar(inicio, erro == null && resposta.statusCode() == 200);
+					enviar(resultado, fim, clientes);
+				});
+	}
+
+	private static class Resultado {
+
+		private final Histogram latencias = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+
+		private final LongAdder erros = new LongAdder();
+
+		void registrar(long inicio, boolean sucesso) {
+			if (sucesso) {
+				latencias.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - inicio),
+						latencias.getHighestTrackableValue()));
+			} else {
+				erros.increment();
+			}
+		}
+
+		Map<String, Object> relatorio(String modo, int conexoes, Duration duracao, Amostragem amostragem) {
+			return Map.of(
+					"modo", modo,
+					"conexoes", conexoes,
+					"duracaoSegundos", duracao.toSeconds(),
+					"requisicoesPorSegundo", latencias.getTotalCount() / (double) duracao.toSeconds(),
+					"erros", erros.sum(),
+					"latenciaMs", Map.of(
+							"p50", latencias.getValueAtPercentile(50) / 1000.0,
+							"p99", latencias.getValueAtPercentile(99) / 1000.0,
+							"p999", latencias.getValueAtPercentile(99.9) / 1000.0,
+							"max", latencias.getMaxValue() / 1000.0),
+					"recursos", amostragem.relatorio(conexoes));
+		}
+
+	}
+
+	// O heap ocioso é medido logo antes, depois de uma coleta de lixo
+	private static class Amostragem {
+
+		private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+		private final MemoryMXBean memoria = ManagementFactory.getMemoryMXBean();
+
+		private final List<HikariDataSource> pools;
+
+		private final List<ConnectionPool> poolsR2dbc;
+
+		private final ScheduledExecutorService agendador = Executors.newSingleThreadScheduledExecutor();
+
+		private final long heapOcioso;
+
+		private volatile int maximoConexoesJdbc;
+
+		private volatile int maximoConexoesR2dbc;
+
+		private final LongAdder somaHeap = new LongAdder();
+
+		private final LongAdder amostras = new LongAdder();
+
+		Amostragem(ConfigurableApplicationContext contexto) {
+			pools = contexto.getBeanProvider(HikariDataSource.class).stream().toList();
+			poolsR2dbc = contexto.getBeanProvider(ConnectionPool.class).stream().toList();
+			memoria.gc();
+			heapOcioso = memoria.getHeapMemoryUsage().getUsed();
+			threads.resetPeakThreadCount();
+			agendador.scheduleAtFixedRate(this::amostrar, 0, INTERVALO_AMOSTRAGEM.toMillis(), TimeUnit.MILLISECONDS);
+		}
+
+		private void amostrar() {
+			maximoConexoesJdbc = Math.max(maximoConexoesJdbc, somar(pools, pool -> {
+				HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+				return mxBean == null ? 0 : mxBean.getActiveConnections();
+			}));
+			maximoConexoesR2dbc = Math.max(maximoConexoesR2dbc, somar(poolsR2dbc, pool -> pool.getMetrics()
+					.map(PoolMetrics::acquiredSize)
+					.orElse(0)));
+			somaHeap.add(memoria.getHeapMemoryUsage().getUsed());
+			amostras.increment();
+		}
+
+		void encerrar() throws InterruptedException {
+			agendador.shutdown();
+			agendador.awaitTermination(1, TimeUnit.SECONDS);
+		}
+
+		Map<String, Object> relatorio(int conexoes) {
+			long heapMedio = somaHeap.sum() / Math.max(amostras.sum(), 1);
+			return Map.of(
+					"maximoConexoesJdbc", maximoConexoesJdbc,
+					"maximoConexoesR2dbc", maximoConexoesR2dbc,
+					"maximoThreads", threads.getPeakThreadCount(),
+					"heapPorRequisicaoKb", Math.max(heapMedio - heapOcioso, 0) / 1024.0 / conexoes);
+		}
+
+		private static <T> int somar(List<T> pools, ToIntFunction<T> emUso) {
+			return pools.stream().mapToInt(emUso).sum();
+		}
+
+	}
+
+}
@@ -0,0 +1,114 @@
+package com.example.apipessoas.benchmark;
+
+import com.example.apipessoas.model.Endereco;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ColecaoEnderecosBenchmark {
+
+	@Param({"10", "100", "1000"})
+	public int quantidadeEnderecos;
+
+	private List<Endereco> enderecos;
+
+	private List<Endereco> lista;
+
+	private Set<Endereco> conjunto;
+
+	private Set<HashConstante> conjuntoHashConstante;
+
+	private List<HashConstante> enderecosHashConstante;
+
+	private Endereco alvo;
+
+	@Setup
+	public void iniciar() {
+		enderecos = new ArrayList<>(quantidadeEnderecos);
+		for (long id = 1; id <= quantidadeEnderecos; id++) {
+			enderecos.add(ContextoBenchmark.novoEndereco().withId(id));
+		}
+		lista = new ArrayList<>(enderecos);
+		conjunto = new LinkedHashSet<>(enderecos);
+		enderecosHashConstante = enderecos.stream().map(HashConstante::new).toList();
+		conjuntoHashConstante = new HashSet<>(enderecosHashConstante);
+	}
+
+	@Setup(Level.Invocation)
+	public void sortearAlvo() {
+		alvo = enderecos.get(ThreadLocalRandom.current().nextInt(quantidadeEnderecos));
+	}
+
+	@Benchmark
+	public boolean listaRemoverEIncluir() {
+		boolean removido = lista.remove(alvo);
+		lista.add(alvo);
+		return removido;
+	}
+
+	@Benchmark
+	public boolean conjuntoRemoverEIncluir() {
+		boolean removido = conjunto.remove(alvo);
+		conjunto.add(alvo);
+		return removido;
+	}
+
+	@Benchmark
+	public boolean hashConstanteContem() {
+		return conjuntoHashConstante.contains(new HashConstante(alvo));
+	}
+
+	@Benchmark
+	public boolean conjuntoContem() {
+		return conjunto.contains(alvo);
+	}
+
+	@Benchmark
+	public Set<HashConstante> hashConstanteMontar() {
+		return new HashSet<>(enderecosHashConstante);
+	}
+
+	@Benchmark
+	public Set<Endereco> conjuntoMontar() {
+		return new HashSet<>(enderecos);
+	}
+
+	// O equals/hashCode anterior das entidades: igualdade pelo id e hash da classe
+	private record HashConstante(Endereco endereco) {
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof HashConstante outro && endereco.getId().equals(outro.endereco().getId());
+		}
+
+		@Override
+		public int hashCode() {
+			return HashConstante.class.hashCode();
+		}
+
+	}
+
+}
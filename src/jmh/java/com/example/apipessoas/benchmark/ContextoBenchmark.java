@@ -0,0 +1,70 @@
+package com.example.apipessoas.benchmark;
+
+import com.example.apipessoas.ApiPessoasApplication;
+import com.example.apipessoas.model.Endereco;
+import com.example.apipessoas.model.Pessoa;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+final class ContextoBenchmark {
+
+	private ContextoBenchmark() {
+	}
+
+	static ConfigurableApplicationContext iniciar(Map<String, Object> propriedades) {
+		return iniciar(WebApplicationType.NONE, propriedades);
+	}
+
+	static ConfigurableApplicationContext iniciarServidor(Map<String, Object> propriedades, String... perfis) {
+		Map<String, Object> todas = new HashMap<>(propriedades);
+		todas.put("server.port", 0);
+		return iniciar(WebApplicationType.SERVLET, todas, perfis);
+	}
+
+	private static ConfigurableApplicationContext iniciar(WebApplicationType tipo, Map<String, Object> propriedades,
+			String... perfis) {
+		// O reinício do devtools é decidido antes do Environment existir, então só obedece à propriedade de sistema;
+		// ativo, ele relançaria o main do benchmark numa thread e num class loader próprios
+		System.setProperty("spring.devtools.restart.enabled", "false");
+		Map<String, Object> todas = new HashMap<>();
+		todas.put("spring.datasource.url", "jdbc:h2:mem:benchmark-" + UUID.randomUUID());
+		todas.put("spring.main.banner-mode", "off");
+		todas.put("logging.level.root", "WARN");
+		todas.putAll(propriedades);
+		return new SpringApplicationBuilder(ApiPessoasApplication.class)
+				.web(tipo)
+				.profiles(perfis)
+				.properties(todas)
+				.run();
+	}
+
+	static Pessoa novaPessoa(int quantidadeEnderecos) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		Pessoa pessoa = Pessoa.builder()
+				.nome("Pessoa " + random.nextInt(1_000_000))
+				.dataNascimento(LocalDate.of(1950 + random.nextInt(60), 1 + random.nextInt(12), 1 + random.nextInt(28)))
+				.build();
+		for (int i = 0; i < quantidadeEnderecos; i++) {
+			pessoa.getEnderecos().add(novoEndereco());
+		}
+		return pessoa;
+	}
+
+	static Endereco novoEndereco() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		return Endereco.builder()
+				.logradouro("Rua " + random.nextInt(10_000))
+				.cep(String.format("%05d-%03d", random.nextInt(100_000), random.nextInt(1_000)))
+				.numero(1 + random.nextInt(5_000))
+				.cidade("Cidade " + random.nextInt(5_000))
+				.build();
+	}
+
+}
@@ -0,0 +1,95 @@
+package com.example.apipessoas.benchmark;
+
+import com.example.apipessoas.model.Pessoa;
+import com.example.apipessoas.service.PessoaService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// antes: uma ida à sequência por id e sem lotes JDBC, como com IDENTITY; depois: sequência pooled e lotes de 50
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(8)
+public class EscritaPessoaBenchmark {
+
+	private static final int PESSOAS_EXISTENTES = 10_000;
+
+	private static final int TAMANHO_LOTE = 100;
+
+	@Param({"antes", "depois"})
+	public String geracaoIds;
+
+	private ConfigurableApplicationContext contexto;
+
+	private PessoaService pessoaService;
+
+	private List<Long> pessoaIds;
+
+	@Setup(Level.Trial)
+	public void iniciar() {
+		boolean depois = geracaoIds.equals("depois");
+		contexto = ContextoBenchmark.iniciar(Map.of(
+				"spring.jpa.properties.api-pessoas.id.tamanho-alocacao", depois ? 50 : 1,
+				"spring.jpa.properties.hibernate.jdbc.batch_size", depois ? 50 : 0,
+				"spring.jpa.properties.hibernate.order_inserts", depois,
+				"spring.jpa.properties.hibernate.order_updates", depois
+		));
+		pessoaService = contexto.getBean(PessoaService.class);
+
+		pessoaIds = new ArrayList<>(PESSOAS_EXISTENTES);
+		for (int i = 0; i < PESSOAS_EXISTENTES; i += TAMANHO_LOTE) {
+			pessoaService.salvarTodas(novasPessoas(TAMANHO_LOTE)).forEach(pessoa -> pessoaIds.add(pessoa.getId()));
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void encerrar() {
+		contexto.close();
+	}
+
+	@Benchmark
+	public Pessoa salvar() {
+		return pessoaService.salvar(ContextoBenchmark.novaPessoa(0));
+	}
+
+	@Benchmark
+	public Object adicionarEndereco() {
+		Long pessoaId = pessoaIds.get(ThreadLocalRandom.current().nextInt(pessoaIds.size()));
+		return pessoaService.adicionarEndereco(pessoaId, ContextoBenchmark.novoEndereco());
+	}
+
+	@Benchmark
+	public List<Pessoa> salvarLote() {
+		return pessoaService.salvarTodas(novasPessoas(TAMANHO_LOTE));
+	}
+
+	private static List<Pessoa> novasPessoas(int quantidade) {
+		return IntStream.range(0, quantidade)
+				.mapToObj(i -> ContextoBenchmark.novaPessoa(2))
+				.toList();
+	}
+
+}
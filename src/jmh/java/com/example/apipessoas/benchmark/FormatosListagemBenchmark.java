@@ -0,0 +1,89 @@
+package com.example.apipessoas.benchmark;
+
+import com.example.apipessoas.dto.EnderecoDTO;
+import com.example.apipessoas.dto.Pagina;
+import com.example.apipessoas.dto.PessoaDTO;
+import com.example.apipessoas.model.Endereco;
+import com.example.apipessoas.model.Pessoa;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FormatosListagemBenchmark {
+
+	private static final int QUANTIDADE_PESSOAS = 10_000;
+
+	@Param({"json", "cbor", "smile"})
+	public String formato;
+
+	@Param({"false", "true"})
+	public boolean gzip;
+
+	private ObjectWriter writer;
+
+	private Pagina<PessoaDTO> pagina;
+
+	@Setup
+	public void iniciar() throws IOException {
+		JsonFactory factory = switch (formato) {
+			case "cbor" -> new CBORFactory();
+			case "smile" -> new SmileFactory();
+			default -> new JsonFactory();
+		};
+		writer = Jackson2ObjectMapperBuilder.json().factory(factory).build().writerFor(Pagina.class);
+
+		List<PessoaDTO> pessoas = new ArrayList<>(QUANTIDADE_PESSOAS);
+		long id = 1;
+		for (int i = 0; i < QUANTIDADE_PESSOAS; i++) {
+			Pessoa pessoa = ContextoBenchmark.novaPessoa(2);
+			pessoa.setId((long) i + 1);
+			List<EnderecoDTO> enderecos = new ArrayList<>();
+			for (Endereco endereco : pessoa.getEnderecos()) {
+				enderecos.add(new EnderecoDTO(id++, pessoa.getId(), endereco.getLogradouro(), endereco.getCep(),
+						endereco.getNumero(), endereco.getCidade(), 0L));
+			}
+			pessoas.add(new PessoaDTO(pessoa.getId(), pessoa.getNome(), pessoa.getDataNascimento(), enderecos,
+					enderecos.get(0), 0L));
+		}
+		pagina = new Pagina<>(pessoas, String.valueOf(QUANTIDADE_PESSOAS));
+
+		System.out.printf("%n%s%s: %,d bytes%n", formato, gzip ? "+gzip" : "", serializar());
+	}
+
+	@Benchmark
+	public int serializar() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (OutputStream saida = gzip ? new GZIPOutputStream(bytes) : bytes) {
+			writer.writeValue(saida, pagina);
+		}
+		return bytes.size();
+	}
+
+}
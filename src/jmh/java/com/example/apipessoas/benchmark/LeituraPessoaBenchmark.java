@@ -0,0 +1,101 @@
+package com.example.apipessoas.benchmark;
+
+import com.example.apipessoas.dto.EnderecoDTO;
+import com.example.apipessoas.dto.Pagina;
+import com.example.apipessoas.dto.PessoaDTO;
+import com.example.apipessoas.model.Pessoa;
+import com.example.apipessoas.service.PessoaService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// Ids sorteados uniformemente, então os caches acertam pouco, como numa carga real sem pontos quentes
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(4)
+public class LeituraPessoaBenchmark {
+
+	private static final int ENDERECOS_POR_PESSOA = 3;
+
+	private static final int TAMANHO_LOTE = 500;
+
+	@Param({"100000"})
+	public int volume;
+
+	private ConfigurableApplicationContext contexto;
+
+	private PessoaService pessoaService;
+
+	private long primeiroId;
+
+	private long ultimoId;
+
+	@Setup(Level.Trial)
+	public void iniciar() {
+		contexto = ContextoBenchmark.iniciar(Map.of());
+		pessoaService = contexto.getBean(PessoaService.class);
+
+		primeiroId = Long.MAX_VALUE;
+		for (int i = 0; i < volume; i += TAMANHO_LOTE) {
+			List<Pessoa> lote = IntStream.range(0, Math.min(TAMANHO_LOTE, volume - i))
+					.mapToObj(n -> ContextoBenchmark.novaPessoa(ENDERECOS_POR_PESSOA))
+					.toList();
+			for (Pessoa pessoa : pessoaService.salvarTodas(lote)) {
+				primeiroId = Math.min(primeiroId, pessoa.getId());
+				ultimoId = Math.max(ultimoId, pessoa.getId());
+			}
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void encerrar() {
+		contexto.close();
+	}
+
+	@Benchmark
+	public Pessoa buscarPessoaPorId() {
+		return pessoaService.buscarPessoaPorId(idAleatorio());
+	}
+
+	@Benchmark
+	public PessoaDTO consultarPessoa() {
+		return pessoaService.consultarPessoa(idAleatorio());
+	}
+
+	@Benchmark
+	public List<EnderecoDTO> consultarEnderecos() {
+		return pessoaService.consultarEnderecos(idAleatorio());
+	}
+
+	@Benchmark
+	public Pagina<PessoaDTO> listarPessoas() {
+		return pessoaService.listarPessoas(String.valueOf(idAleatorio()), 50);
+	}
+
+	private long idAleatorio() {
+		return ThreadLocalRandom.current().nextLong(primeiroId, ultimoId + 1);
+	}
+
+}
@@ -0,0 +1,89 @@
+package com.example.apipessoas.benchmark;
+
+import com.example.apipessoas.dto.EnderecoDTO;
+import com.example.apipessoas.dto.PessoaDTO;
+import com.example.apipessoas.model.Endereco;
+import com.example.apipessoas.model.Pessoa;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializacaoPessoaBenchmark {
+
+	@Param({"1", "10", "100"})
+	public int quantidadeEnderecos;
+
+	private ObjectWriter writer;
+
+	private ObjectReader reader;
+
+	private ObjectWriter writerDTO;
+
+	private Pessoa pessoa;
+
+	private PessoaDTO pessoaDTO;
+
+	private byte[] json;
+
+	@Setup
+	public void iniciar() throws IOException {
+		ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		writer = objectMapper.writerFor(Pessoa.class);
+		reader = objectMapper.readerFor(Pessoa.class);
+		writerDTO = objectMapper.writerFor(PessoaDTO.class);
+
+		pessoa = ContextoBenchmark.novaPessoa(quantidadeEnderecos);
+		long id = 1;
+		pessoa.setId(id);
+		for (Endereco endereco : pessoa.getEnderecos()) {
+			endereco.setId(id++);
+		}
+		pessoa.setEnderecoPrincipal(pessoa.primeiroEndereco());
+		json = writer.writeValueAsBytes(pessoa);
+
+		List<EnderecoDTO> enderecos = pessoa.getEnderecos().stream()
+				.map(endereco -> new EnderecoDTO(endereco.getId(), pessoa.getId(), endereco.getLogradouro(),
+						endereco.getCep(), endereco.getNumero(), endereco.getCidade(), endereco.getVersao()))
+				.toList();
+		pessoaDTO = new PessoaDTO(pessoa.getId(), pessoa.getNome(), pessoa.getDataNascimento(), enderecos,
+				enderecos.get(0), pessoa.getVersao());
+	}
+
+	@Benchmark
+	public byte[] serializar() throws IOException {
+		return writer.writeValueAsBytes(pessoa);
+	}
+
+	@Benchmark
+	public byte[] serializarDTO() throws IOException {
+		return writerDTO.writeValueAsBytes(pessoaDTO);
+	}
+
+	@Benchmark
+	public Pessoa desserializar() throws IOException {
+		return reader.readValue(json);
+	}
+
+}
@@ -0,0 +1,70 @@
+package com.example.apipessoas.benchmark;
+
+import com.example.apipessoas.model.Endereco;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidacaoEnderecoBenchmark {
+
+	private static final Pattern CEP = Pattern.compile("^\\d{5}-\\d{3}$");
+
+	private ValidatorFactory validatorFactory;
+
+	private Validator validator;
+
+	private Endereco enderecoValido;
+
+	private Endereco enderecoInvalido;
+
+	@Setup
+	public void iniciar() {
+		validatorFactory = Validation.buildDefaultValidatorFactory();
+		validator = validatorFactory.getValidator();
+		enderecoValido = ContextoBenchmark.novoEndereco();
+		enderecoInvalido = ContextoBenchmark.novoEndereco().withCep("1234-5678");
+	}
+
+	@TearDown
+	public void encerrar() {
+		validatorFactory.close();
+	}
+
+	@Benchmark
+	public Set<ConstraintViolation<Endereco>> validarEnderecoValido() {
+		return validator.validate(enderecoValido);
+	}
+
+	@Benchmark
+	public Set<ConstraintViolation<Endereco>> validarEnderecoInvalido() {
+		return validator.validate(enderecoInvalido);
+	}
+
+	@Benchmark
+	public boolean casarExpressaoDoCep() {
+		return CEP.matcher(enderecoValido.getCep()).matches();
+	}
+
+}
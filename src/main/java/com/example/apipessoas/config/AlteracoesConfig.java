@@ -0,0 +1,37 @@
+package com.example.apipessoas.config;
+
+import com.example.apipessoas.service.DestinoAlteracoes;
+import com.example.apipessoas.service.DestinoAlteracoesLocal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.nio.file.Path;
+
+@Configuration(proxyBeanMethods = false)
+public class AlteracoesConfig {
+
+	public static final String PROPRIEDADE_PUBLICAR = "api-pessoas.alteracoes.publicar";
+
+	@Bean
+	@ConditionalOnMissingBean
+	public DestinoAlteracoes destinoAlteracoes(
+			ObjectMapper objectMapper,
+			@Value("${api-pessoas.alteracoes.arquivo:}") String arquivo
+	) {
+		return new DestinoAlteracoesLocal(objectMapper, arquivo.isBlank() ? null : Path.of(arquivo));
+	}
+
+	// Com publicar=false, como nos testes, nada é agendado
+	@Configuration(proxyBeanMethods = false)
+	@EnableScheduling
+	@ConditionalOnProperty(name = PROPRIEDADE_PUBLICAR, havingValue = "true", matchIfMissing = true)
+	static class Agendamento {
+
+	}
+
+}
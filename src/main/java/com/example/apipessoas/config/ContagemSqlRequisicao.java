@@ -0,0 +1,75 @@
+package com.example.apipessoas.config;
+
+import org.hibernate.BaseSessionEventListener;
+
+// Uma instância por sessão do Hibernate; a contagem fica na thread, somando todas as sessões da requisição
+public class ContagemSqlRequisicao extends BaseSessionEventListener {
+
+	private static final ThreadLocal<Contagem> CONTAGEM_ATUAL = new ThreadLocal<>();
+
+	static Contagem iniciar() {
+		Contagem contagem = new Contagem();
+		CONTAGEM_ATUAL.set(contagem);
+		return contagem;
+	}
+
+	static void encerrar() {
+		CONTAGEM_ATUAL.remove();
+	}
+
+	static Contagem atual() {
+		return CONTAGEM_ATUAL.get();
+	}
+
+	@Override
+	public void jdbcPrepareStatementEnd() {
+		Contagem contagem = CONTAGEM_ATUAL.get();
+		if (contagem != null) {
+			contagem.comandos++;
+		}
+	}
+
+	@Override
+	public void cacheGetEnd(boolean encontrado) {
+		Contagem contagem = CONTAGEM_ATUAL.get();
+		if (contagem == null) {
+			return;
+		}
+		if (encontrado) {
+			contagem.acertosCache++;
+		} else {
+			contagem.falhasCache++;
+		}
+	}
+
+	static class Contagem {
+
+		int comandos;
+
+		int acertosCache;
+
+		int falhasCache;
+
+		int execucoes;
+
+		long nanosSql;
+
+		long linhas;
+
+		String comandoMaisLento;
+
+		long nanosComandoMaisLento;
+
+		void registrarExecucao(String sql, long nanos, long linhasAfetadas) {
+			execucoes++;
+			nanosSql += nanos;
+			linhas += linhasAfetadas;
+			if (nanos >= nanosComandoMaisLento) {
+				comandoMaisLento = sql;
+				nanosComandoMaisLento = nanos;
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,105 @@
+package com.example.apipessoas.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Sem o flush dos conversores o Tomcat conhece o Content-Length das respostas pequenas e respeita
+// server.compression.min-response-size; NDJSON e event-stream continuam sendo enviados a cada flush
+public class FlushAdiadoFilter extends OncePerRequestFilter {
+
+	private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		filterChain.doFilter(request, new RespostaFlushAdiado(response));
+	}
+
+	private static boolean transmitida(String contentType) {
+		if (contentType == null) {
+			return false;
+		}
+		MediaType tipo = MediaType.parseMediaType(contentType);
+		return APPLICATION_NDJSON.isCompatibleWith(tipo) || MediaType.TEXT_EVENT_STREAM.isCompatibleWith(tipo);
+	}
+
+	private static class RespostaFlushAdiado extends HttpServletResponseWrapper {
+
+		private ServletOutputStream outputStream;
+
+		RespostaFlushAdiado(HttpServletResponse response) {
+			super(response);
+		}
+
+		@Override
+		public ServletOutputStream getOutputStream() throws IOException {
+			if (outputStream == null) {
+				outputStream = new OutputStreamFlushAdiado(super.getOutputStream(), this);
+			}
+			return outputStream;
+		}
+
+		@Override
+		public void flushBuffer() throws IOException {
+			if (transmitida(getContentType())) {
+				super.flushBuffer();
+			}
+		}
+
+	}
+
+	private static class OutputStreamFlushAdiado extends ServletOutputStream {
+
+		private final ServletOutputStream delegate;
+
+		private final HttpServletResponse response;
+
+		OutputStreamFlushAdiado(ServletOutputStream delegate, HttpServletResponse response) {
+			this.delegate = delegate;
+			this.response = response;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			delegate.write(b);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			delegate.write(b, off, len);
+		}
+
+		@Override
+		public void flush() throws IOException {
+			if (transmitida(response.getContentType())) {
+				delegate.flush();
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			delegate.close();
+		}
+
+		@Override
+		public boolean isReady() {
+			return delegate.isReady();
+		}
+
+		@Override
+		public void setWriteListener(WriteListener writeListener) {
+			delegate.setWriteListener(writeListener);
+		}
+
+	}
+
+}
@@ -0,0 +1,34 @@
+package com.example.apipessoas.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+// CBOR e Smile a partir do builder do Spring Boot, para que saiam com as mesmas configurações do JSON
+@Configuration(proxyBeanMethods = false)
+public class FormatosRespostaConfig {
+
+	@Bean
+	public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+		return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+	}
+
+	@Bean
+	public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+		return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+	}
+
+	@Bean
+	public FilterRegistrationBean<FlushAdiadoFilter> flushAdiadoFilter() {
+		FilterRegistrationBean<FlushAdiadoFilter> registro = new FilterRegistrationBean<>(new FlushAdiadoFilter());
+		registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+		return registro;
+	}
+
+}
@@ -0,0 +1,37 @@
+package com.example.apipessoas.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration(proxyBeanMethods = false)
+public class MetricasConfig {
+
+	@Bean
+	public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+		return new TimedAspect(meterRegistry);
+	}
+
+	@Bean
+	public HibernatePropertiesCustomizer contagemSqlRequisicao() {
+		return properties -> properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER,
+				ContagemSqlRequisicao.class.getName());
+	}
+
+	@Bean
+	public FilterRegistrationBean<MetricasSqlRequisicaoFilter> metricasSqlRequisicaoFilter(
+			MeterRegistry meterRegistry,
+			OrcamentoSqlRequisicao orcamentoSqlRequisicao
+	) {
+		FilterRegistrationBean<MetricasSqlRequisicaoFilter> registro = new FilterRegistrationBean<>(
+				new MetricasSqlRequisicaoFilter(meterRegistry, orcamentoSqlRequisicao));
+		registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+		return registro;
+	}
+
+}
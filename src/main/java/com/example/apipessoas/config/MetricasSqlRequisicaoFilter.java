@@ -0,0 +1,74 @@
+package com.example.apipessoas.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@RequiredArgsConstructor
+public class MetricasSqlRequisicaoFilter extends OncePerRequestFilter {
+
+	public static final String METRICA_COMANDOS = "pessoas.requisicao.sql.comandos";
+
+	public static final String METRICA_TEMPO = "pessoas.requisicao.sql.tempo";
+
+	public static final String METRICA_CACHE = "pessoas.requisicao.cache";
+
+	private final MeterRegistry meterRegistry;
+
+	private final OrcamentoSqlRequisicao orcamentoSqlRequisicao;
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		ContagemSqlRequisicao.Contagem contagem = ContagemSqlRequisicao.iniciar();
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			ContagemSqlRequisicao.encerrar();
+			registrar(request, contagem);
+		}
+	}
+
+	private void registrar(HttpServletRequest request, ContagemSqlRequisicao.Contagem contagem) {
+		Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		String uri = padrao == null ? "UNKNOWN" : padrao.toString();
+		Tags tags = Tags.of("method", request.getMethod(), "uri", uri);
+		DistributionSummary.builder(METRICA_COMANDOS)
+				.description("Comandos SQL preparados por requisição")
+				.baseUnit("comandos")
+				.tags(tags)
+				.publishPercentileHistogram()
+				.maximumExpectedValue(100.0)
+				.register(meterRegistry)
+				.record(contagem.comandos);
+		Timer.builder(METRICA_TEMPO)
+				.description("Tempo total gasto em comandos SQL por requisição")
+				.tags(tags)
+				.register(meterRegistry)
+				.record(contagem.nanosSql, TimeUnit.NANOSECONDS);
+		Counter.builder(METRICA_CACHE)
+				.description("Acessos ao cache de segundo nível feitos pelas requisições")
+				.tags(tags.and("resultado", "acerto"))
+				.register(meterRegistry)
+				.increment(contagem.acertosCache);
+		Counter.builder(METRICA_CACHE)
+				.description("Acessos ao cache de segundo nível feitos pelas requisições")
+				.tags(tags.and("resultado", "falha"))
+				.register(meterRegistry)
+				.increment(contagem.falhasCache);
+		orcamentoSqlRequisicao.avaliar(request.getMethod() + " " + uri, contagem);
+	}
+
+}
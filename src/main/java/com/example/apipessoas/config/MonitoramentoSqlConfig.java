@@ -0,0 +1,57 @@
+package com.example.apipessoas.config;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Só o bean dataSource é envolvido, deixando os pools Hikari expostos como estão para o Actuator. Contar as
+// linhas lidas exige envolver cada ResultSet, por isso só com api-pessoas.sql.contar-linhas-lidas=true
+@Configuration(proxyBeanMethods = false)
+public class MonitoramentoSqlConfig {
+
+	static final String BEAN_DATA_SOURCE = "dataSource";
+
+	@Bean
+	public static BeanPostProcessor proxyDataSource(
+			@Value("${api-pessoas.sql.comando-lento:50ms}") Duration limiteComandoLento,
+			@Value("${api-pessoas.sql.contar-linhas-lidas:false}") boolean contarLinhasLidas
+	) {
+		MonitoramentoSqlListener listener = new MonitoramentoSqlListener(limiteComandoLento);
+		return new BeanPostProcessor() {
+
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (!BEAN_DATA_SOURCE.equals(beanName) || !(bean instanceof DataSource dataSource)) {
+					return bean;
+				}
+				ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(dataSource)
+						.name(beanName)
+						.listener(listener);
+				if (contarLinhasLidas) {
+					builder.methodListener(listener).proxyResultSet();
+				}
+				return builder.build();
+			}
+
+		};
+	}
+
+	@Bean
+	public OrcamentoSqlRequisicao orcamentoSqlRequisicao(
+			@Value("${api-pessoas.sql.orcamento.comandos:4}") int maximoComandos,
+			@Value("${api-pessoas.sql.orcamento.tempo:100ms}") Duration tempoMaximo
+	) {
+		return new OrcamentoSqlRequisicao(maximoComandos, tempoMaximo);
+	}
+
+	@Bean
+	public SqlEndpoint sqlEndpoint(OrcamentoSqlRequisicao orcamentoSqlRequisicao) {
+		return new SqlEndpoint(orcamentoSqlRequisicao);
+	}
+
+}
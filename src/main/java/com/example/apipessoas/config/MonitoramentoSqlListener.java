@@ -0,0 +1,73 @@
+package com.example.apipessoas.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Slf4j
+@RequiredArgsConstructor
+class MonitoramentoSqlListener implements QueryExecutionListener, MethodExecutionListener {
+
+	private static final String INICIO = MonitoramentoSqlListener.class.getName() + ".inicio";
+
+	private final Duration limiteComandoLento;
+
+	@Override
+	public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+		execInfo.addCustomValue(INICIO, System.nanoTime());
+	}
+
+	@Override
+	public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+		long nanos = System.nanoTime() - execInfo.getCustomValue(INICIO, Long.class);
+		String sql = queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+		if (nanos > limiteComandoLento.toNanos()) {
+			log.warn("Comando SQL lento ({} ms): {}", Duration.ofNanos(nanos).toMillis(), sql);
+		}
+		ContagemSqlRequisicao.Contagem contagem = ContagemSqlRequisicao.atual();
+		if (contagem != null) {
+			contagem.registrarExecucao(sql, nanos, linhasAfetadas(execInfo.getResult()));
+		}
+	}
+
+	@Override
+	public void beforeMethod(MethodExecutionContext executionContext) {
+	}
+
+	@Override
+	public void afterMethod(MethodExecutionContext executionContext) {
+		if (executionContext.getTarget() instanceof ResultSet
+				&& executionContext.getMethod().getName().equals("next")
+				&& Boolean.TRUE.equals(executionContext.getResult())) {
+			ContagemSqlRequisicao.Contagem contagem = ContagemSqlRequisicao.atual();
+			if (contagem != null) {
+				contagem.linhas++;
+			}
+		}
+	}
+
+	private static long linhasAfetadas(Object resultado) {
+		if (resultado instanceof Number linhas) {
+			return Math.max(linhas.longValue(), 0);
+		}
+		if (resultado instanceof int[] lote) {
+			long linhas = 0;
+			for (int linhasComando : lote) {
+				linhas += Math.max(linhasComando, 0);
+			}
+			return linhas;
+		}
+		// ResultSet (consultas) e boolean (execute): as linhas lidas são contadas em afterMethod
+		return 0;
+	}
+
+}
@@ -0,0 +1,61 @@
+package com.example.apipessoas.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@RequiredArgsConstructor
+public class OrcamentoSqlRequisicao {
+
+	private final int maximoComandos;
+
+	private final Duration tempoMaximo;
+
+	// Uma entrada por endpoint, não por requisição
+	private final Map<String, Excedente> excedentes = new ConcurrentHashMap<>();
+
+	void avaliar(String endpoint, ContagemSqlRequisicao.Contagem contagem) {
+		Duration tempo = Duration.ofNanos(contagem.nanosSql);
+		if (contagem.execucoes <= maximoComandos && tempo.compareTo(tempoMaximo) <= 0) {
+			return;
+		}
+		log.warn("{} excedeu o orçamento de SQL: {} comandos (máximo {}) em {} ms (máximo {} ms); mais lento: {}",
+				endpoint, contagem.execucoes, maximoComandos, tempo.toMillis(), tempoMaximo.toMillis(),
+				contagem.comandoMaisLento);
+		excedentes.merge(endpoint, new Excedente(endpoint, 1, contagem.execucoes, tempo.toMillis(), contagem.linhas,
+				contagem.comandoMaisLento), Excedente::combinar);
+	}
+
+	public List<Excedente> excedentes() {
+		return excedentes.values().stream()
+				.sorted(Comparator.comparingLong(Excedente::millisSql)
+						.thenComparingInt(Excedente::comandos)
+						.reversed())
+				.toList();
+	}
+
+	public record Excedente(
+			String endpoint,
+			long ocorrencias,
+			int comandos,
+			long millisSql,
+			long linhas,
+			String comandoMaisLento
+	) {
+
+		Excedente combinar(Excedente outro) {
+			boolean outroPior = outro.millisSql > millisSql || outro.millisSql == millisSql && outro.comandos > comandos;
+			Excedente pior = outroPior ? outro : this;
+			return new Excedente(endpoint, ocorrencias + outro.ocorrencias, pior.comandos, pior.millisSql, pior.linhas,
+					pior.comandoMaisLento);
+		}
+
+	}
+
+}
@@ -0,0 +1,34 @@
+package com.example.apipessoas.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+@Configuration(proxyBeanMethods = false)
+@Profile(ReativoConfig.PERFIL)
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReativoConfig {
+
+	public static final String PERFIL = "reactive";
+
+	// Com o Tomcat também no classpath, a autoconfiguração o escolheria para servir o WebFlux
+	@Bean
+	public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+		return new NettyReactiveWebServerFactory();
+	}
+
+	// A autoconfiguração do JDBC recua diante do ConnectionFactory do R2DBC, mas o JPA continua precisando do pool
+	@Bean
+	@ConditionalOnExpression("'${" + ReplicaDataSourceConfig.PROPRIEDADE_URL_REPLICA + ":}'.isEmpty()")
+	@ConfigurationProperties("spring.datasource.hikari")
+	public HikariDataSource dataSource(DataSourceProperties properties) {
+		return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+	}
+
+}
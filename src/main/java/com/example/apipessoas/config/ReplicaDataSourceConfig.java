@@ -0,0 +1,52 @@
+package com.example.apipessoas.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(ReplicaDataSourceConfig.PROPRIEDADE_URL_REPLICA)
+public class ReplicaDataSourceConfig {
+
+	public static final String PROPRIEDADE_URL_REPLICA = "api-pessoas.replica.jdbc-url";
+
+	@Bean
+	@ConfigurationProperties("spring.datasource.hikari")
+	public HikariDataSource dataSourcePrimario(DataSourceProperties properties) {
+		HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		dataSource.setPoolName("primario");
+		return dataSource;
+	}
+
+	@Bean
+	@ConfigurationProperties("api-pessoas.replica")
+	public HikariDataSource dataSourceReplica() {
+		HikariDataSource dataSource = new HikariDataSource();
+		dataSource.setPoolName("replica");
+		dataSource.setReadOnly(true);
+		return dataSource;
+	}
+
+	@Bean
+	@Primary
+	public DataSource dataSource(HikariDataSource dataSourcePrimario, HikariDataSource dataSourceReplica) {
+		RoteamentoLeituraDataSource roteamento = new RoteamentoLeituraDataSource();
+		roteamento.setTargetDataSources(Map.of(
+				RoteamentoLeituraDataSource.Destino.PRIMARIO, dataSourcePrimario,
+				RoteamentoLeituraDataSource.Destino.REPLICA, dataSourceReplica));
+		roteamento.setDefaultTargetDataSource(dataSourcePrimario);
+		roteamento.afterPropertiesSet();
+		// Só obtém a conexão no primeiro comando SQL, quando a transação já foi marcada como somente leitura; sem o
+		// proxy ela seria escolhida no início da transação, sempre no primário
+		return new LazyConnectionDataSourceProxy(roteamento);
+	}
+
+}
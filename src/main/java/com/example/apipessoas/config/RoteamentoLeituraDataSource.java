@@ -0,0 +1,18 @@
+package com.example.apipessoas.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Deve ficar atrás de um LazyConnectionDataSourceProxy; ver ReplicaDataSourceConfig
+class RoteamentoLeituraDataSource extends AbstractRoutingDataSource {
+
+	enum Destino {
+		PRIMARIO, REPLICA
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? Destino.REPLICA : Destino.PRIMARIO;
+	}
+
+}
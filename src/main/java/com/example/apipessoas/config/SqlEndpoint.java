@@ -0,0 +1,21 @@
+package com.example.apipessoas.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.List;
+
+// Mostra o SQL e os caminhos das requisições, por isso fica fora da web por padrão; ver application.properties
+@Endpoint(id = "sql")
+@RequiredArgsConstructor
+public class SqlEndpoint {
+
+	private final OrcamentoSqlRequisicao orcamentoSqlRequisicao;
+
+	@ReadOperation
+	public List<OrcamentoSqlRequisicao.Excedente> excedentes() {
+		return orcamentoSqlRequisicao.excedentes();
+	}
+
+}
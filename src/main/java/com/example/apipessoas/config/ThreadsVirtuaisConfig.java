@@ -0,0 +1,54 @@
+package com.example.apipessoas.config;
+
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Exige Java 21 ou superior
+@Configuration(proxyBeanMethods = false)
+@Profile(ThreadsVirtuaisConfig.PERFIL)
+public class ThreadsVirtuaisConfig {
+
+	public static final String PERFIL = "virtual-threads";
+
+	static final int VERSAO_MINIMA_JAVA = 21;
+
+	@Bean(destroyMethod = "shutdown")
+	public ExecutorService executorThreadsVirtuais() {
+		return novoExecutorThreadsVirtuais();
+	}
+
+	@Bean
+	public TomcatProtocolHandlerCustomizer<ProtocolHandler> executorTomcatThreadsVirtuais(ExecutorService executorThreadsVirtuais) {
+		return protocolHandler -> protocolHandler.setExecutor(executorThreadsVirtuais);
+	}
+
+	@Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+			AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+	public AsyncTaskExecutor applicationTaskExecutor(ExecutorService executorThreadsVirtuais) {
+		return new TaskExecutorAdapter(executorThreadsVirtuais);
+	}
+
+	// Por reflexão, para que o projeto continue compilando em Java 17
+	static ExecutorService novoExecutorThreadsVirtuais() {
+		if (Runtime.version().feature() < VERSAO_MINIMA_JAVA) {
+			throw new IllegalStateException(String.format("O perfil %s exige Java %d ou superior (versão atual: %s)",
+					PERFIL, VERSAO_MINIMA_JAVA, Runtime.version()));
+		}
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Não foi possível criar o executor de threads virtuais", e);
+		}
+	}
+
+}
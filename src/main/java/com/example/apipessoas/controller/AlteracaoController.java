@@ -0,0 +1,38 @@
+package com.example.apipessoas.controller;
+
+import com.example.apipessoas.config.ReativoConfig;
+import com.example.apipessoas.dto.AlteracaoDTO;
+import com.example.apipessoas.dto.Pagina;
+import com.example.apipessoas.service.AlteracoesService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@Profile("!" + ReativoConfig.PERFIL)
+@RequestMapping(AlteracaoController.PATH)
+@RequiredArgsConstructor
+@Validated
+public class AlteracaoController {
+
+	public static final String PATH = "/api/v1/changes";
+
+	public static final int TAMANHO_MAXIMO_PAGINA = 1000;
+
+	private final AlteracoesService alteracoesService;
+
+	@GetMapping
+	public Pagina<AlteracaoDTO> listarAlteracoes(
+			@RequestParam(defaultValue = "0") @Min(0) long since,
+			@RequestParam(defaultValue = "100") @Min(1) @Max(TAMANHO_MAXIMO_PAGINA) int tamanho
+	) {
+		return alteracoesService.listarAlteracoes(since, tamanho);
+	}
+
+}
@@ -0,0 +1,47 @@
+package com.example.apipessoas.controller;
+
+import com.example.apipessoas.config.ReativoConfig;
+import com.example.apipessoas.dto.EnderecoPessoaDTO;
+import com.example.apipessoas.dto.Pagina;
+import com.example.apipessoas.service.BuscaEnderecosService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@Profile("!" + ReativoConfig.PERFIL)
+@RequestMapping(EnderecoController.PATH)
+@RequiredArgsConstructor
+@Validated
+public class EnderecoController {
+
+	public static final String PATH = "/api/v1/enderecos";
+
+	private final BuscaEnderecosService buscaEnderecosService;
+
+	@GetMapping(params = "cep")
+	public Pagina<EnderecoPessoaDTO> buscarPorCep(
+			@RequestParam String cep,
+			@RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = "50") @Min(1) @Max(PessoaController.TAMANHO_MAXIMO_PAGINA) int tamanho
+	) {
+		return buscaEnderecosService.buscarPorCep(cep, cursor, tamanho);
+	}
+
+	@GetMapping(params = "cidade")
+	public Pagina<EnderecoPessoaDTO> buscarPorCidade(
+			@RequestParam @NotBlank String cidade,
+			@RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = "50") @Min(1) @Max(PessoaController.TAMANHO_MAXIMO_PAGINA) int tamanho
+	) {
+		return buscaEnderecosService.buscarPorCidade(cidade, cursor, tamanho);
+	}
+
+}
@@ -1,31 +1,114 @@
 package com.example.apipessoas.controller;
 
+import com.example.apipessoas.config.ReativoConfig;
+import com.example.apipessoas.dto.AlteracaoEndereco;
+import com.example.apipessoas.dto.AlteracaoPessoa;
+import com.example.apipessoas.dto.EnderecoDTO;
+import com.example.apipessoas.dto.LoteEnderecos;
+import com.example.apipessoas.dto.Pagina;
+import com.example.apipessoas.dto.PessoaDTO;
+import com.example.apipessoas.dto.Sincronizacao;
+import com.example.apipessoas.exception.VersaoDesatualizadaException;
 import com.example.apipessoas.model.Endereco;
 import com.example.apipessoas.model.Pessoa;
+import com.example.apipessoas.service.BuscaPessoasService;
+import com.example.apipessoas.service.ConsultaPessoaCompartilhada;
+import com.example.apipessoas.service.ImportacaoPessoasService;
 import com.example.apipessoas.service.PessoaService;
+import com.example.apipessoas.service.SincronizacaoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @RestController
+@Profile("!" + ReativoConfig.PERFIL)
 @RequestMapping(PessoaController.PATH)
 @RequiredArgsConstructor
+@Validated
 public class PessoaController {
 
 	public static final String PATH = "/api/v1/pessoas";
 
+	public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+	public static final String APPLICATION_MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
+	public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+	public static final int TAMANHO_MAXIMO_PAGINA = Pessoa.TAMANHO_LOTE_ENDERECOS;
+
+	public static final int TAMANHO_MAXIMO_SINCRONIZACAO = 1000;
+
 	private final PessoaService pessoaService;
 
+	private final ImportacaoPessoasService importacaoPessoasService;
+
+	private final BuscaPessoasService buscaPessoasService;
+
+	private final ConsultaPessoaCompartilhada consultaPessoaCompartilhada;
+
+	private final SincronizacaoService sincronizacaoService;
+
+	private final ObjectMapper objectMapper;
+
 	@GetMapping
-	public List<Pessoa> listarPessoas() {
-		return pessoaService.listarPessoas();
+	public Pagina<PessoaDTO> listarPessoas(
+			@RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = "50") @Min(1) @Max(TAMANHO_MAXIMO_PAGINA) int tamanho
+	) {
+		return pessoaService.listarPessoas(cursor, tamanho);
+	}
+
+	@GetMapping("/search")
+	public Pagina<PessoaDTO> buscar(
+			@RequestParam @NotBlank String q,
+			@RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = "20") @Min(1) @Max(TAMANHO_MAXIMO_PAGINA) int tamanho
+	) {
+		return buscaPessoasService.buscar(q, cursor, tamanho);
+	}
+
+	@GetMapping("/sync")
+	public Sincronizacao sincronizar(
+			@RequestParam(required = false) String since,
+			@RequestParam(defaultValue = "100") @Min(1) @Max(TAMANHO_MAXIMO_SINCRONIZACAO) int tamanho
+	) {
+		return sincronizacaoService.sincronizar(since, tamanho);
+	}
+
+	@GetMapping(produces = APPLICATION_NDJSON_VALUE)
+	public StreamingResponseBody transmitirPessoas() {
+		return outputStream -> pessoaService.transmitirPessoas(escritorNdjson(outputStream));
 	}
 
 	@PostMapping
@@ -40,28 +123,61 @@ public class PessoaController {
 		return ResponseEntity.created(uri).body(pessoaSalva);
 	}
 
+	@PostMapping(
+			path = "/importacao",
+			consumes = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE},
+			produces = APPLICATION_NDJSON_VALUE
+	)
+	public void importar(HttpServletRequest request, HttpServletResponse response) throws IOException {
+		response.setContentType(APPLICATION_NDJSON_VALUE);
+		response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+		importacaoPessoasService.importar(request.getInputStream(), escritorNdjson(response.getOutputStream()));
+	}
+
 	@PutMapping("/{pessoaId}")
-	public Pessoa atualizar(
+	public ResponseEntity<Pessoa> atualizar(
+			@PathVariable Long pessoaId,
+			@RequestBody @Valid Pessoa pessoa,
+			@RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch
+	) {
+		Pessoa pessoaAtualizada = pessoaService.atualizar(pessoaId, pessoa, versoesExigidas(ifMatch));
+		return ResponseEntity.ok().eTag(etag(pessoaAtualizada.versaoComEnderecos())).body(pessoaAtualizada);
+	}
+
+	@PatchMapping(
+			path = "/{pessoaId}",
+			consumes = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_MERGE_PATCH_JSON_VALUE}
+	)
+	public ResponseEntity<Pessoa> alterar(
 			@PathVariable Long pessoaId,
-			@RequestBody @Valid Pessoa pessoa
+			@RequestBody @Valid AlteracaoPessoa alteracao,
+			@RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch
 	) {
-		return pessoaService.atualizar(pessoaId, pessoa);
+		Pessoa pessoaAlterada = pessoaService.alterar(pessoaId, alteracao, versoesExigidas(ifMatch));
+		return ResponseEntity.ok().eTag(etag(pessoaAlterada.versaoComEnderecos())).body(pessoaAlterada);
 	}
 
 	@DeleteMapping("/{id}")
 	@ResponseStatus(HttpStatus.NO_CONTENT)
-	public void excluir(@PathVariable Long id) {
-		pessoaService.remover(id);
+	public void excluir(
+			@PathVariable Long id,
+			@RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch
+	) {
+		pessoaService.remover(id, versoesExigidas(ifMatch));
 	}
 
 	@GetMapping("/{id}")
-	public Pessoa buscarPeloId(@PathVariable Long id) {
-		return pessoaService.buscarPessoaPorId(id);
+	public ResponseEntity<PessoaDTO> buscarPeloId(@PathVariable Long id, WebRequest request) {
+		if (naoModificado(request, () -> consultaPessoaCompartilhada.consultarVersao(id))) {
+			return null;
+		}
+		PessoaDTO pessoa = consultaPessoaCompartilhada.consultar(id);
+		return ResponseEntity.ok().eTag(etag(pessoa.versaoComEnderecos())).body(pessoa);
 	}
 
 	@GetMapping("/{pessoaId}/enderecos")
-	public List<Endereco> listarEnderecos(@PathVariable Long pessoaId) {
-		return pessoaService.listarEnderecos(pessoaId);
+	public List<EnderecoDTO> listarEnderecos(@PathVariable Long pessoaId) {
+		return pessoaService.consultarEnderecos(pessoaId);
 	}
 
 	@PostMapping("/{id}/enderecos")
@@ -77,6 +193,26 @@ public class PessoaController {
 		return ResponseEntity.created(uri).body(enderecoSalvo);
 	}
 
+	@PutMapping("/{pessoaId}/enderecos")
+	public ResponseEntity<Set<Endereco>> substituirEnderecos(
+			@PathVariable Long pessoaId,
+			@RequestBody @Size(max = LoteEnderecos.TAMANHO_MAXIMO) List<@Valid @NotNull Endereco> enderecos,
+			@RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch
+	) {
+		Pessoa pessoa = pessoaService.substituirEnderecos(pessoaId, enderecos, versoesExigidas(ifMatch));
+		return ResponseEntity.ok().eTag(etag(pessoa.versaoComEnderecos())).body(pessoa.getEnderecos());
+	}
+
+	@PostMapping("/{pessoaId}/enderecos/lote")
+	public ResponseEntity<Set<Endereco>> aplicarLoteEnderecos(
+			@PathVariable Long pessoaId,
+			@RequestBody @Valid LoteEnderecos lote,
+			@RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch
+	) {
+		Pessoa pessoa = pessoaService.aplicarLoteEnderecos(pessoaId, lote, versoesExigidas(ifMatch));
+		return ResponseEntity.ok().eTag(etag(pessoa.versaoComEnderecos())).body(pessoa.getEnderecos());
+	}
+
 	@PutMapping("/{pessoaId}/endereco-principal/{enderecoId}")
 	public Endereco definirEnderecoPrincipal(
 			@PathVariable Long pessoaId,
@@ -95,20 +231,85 @@ public class PessoaController {
 	}
 
 	@PutMapping("/{pessoaId}/enderecos/{enderecoId}")
-	public Endereco atualizarEndereco(
+	public ResponseEntity<Endereco> atualizarEndereco(
 			@PathVariable Long pessoaId,
 			@PathVariable Long enderecoId,
-			@RequestBody @Valid Endereco endereco
+			@RequestBody @Valid Endereco endereco,
+			@RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch
 	) {
-		return pessoaService.atualizarEndereco(pessoaId, enderecoId, endereco);
+		Endereco enderecoAtualizado = pessoaService.atualizarEndereco(pessoaId, enderecoId, endereco,
+				versoesExigidas(ifMatch));
+		return ResponseEntity.ok()
+				.eTag(etag(String.valueOf(enderecoAtualizado.getVersao())))
+				.body(enderecoAtualizado);
+	}
+
+	@PatchMapping(
+			path = "/{pessoaId}/enderecos/{enderecoId}",
+			consumes = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_MERGE_PATCH_JSON_VALUE}
+	)
+	public ResponseEntity<Endereco> alterarEndereco(
+			@PathVariable Long pessoaId,
+			@PathVariable Long enderecoId,
+			@RequestBody @Valid AlteracaoEndereco alteracao,
+			@RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch
+	) {
+		Endereco enderecoAlterado = pessoaService.alterarEndereco(pessoaId, enderecoId, alteracao,
+				versoesExigidas(ifMatch));
+		return ResponseEntity.ok()
+				.eTag(etag(String.valueOf(enderecoAlterado.getVersao())))
+				.body(enderecoAlterado);
 	}
 
 	@GetMapping("/{pessoaId}/enderecos/{enderecoId}")
-	public Endereco buscarEndereco(
+	public ResponseEntity<EnderecoDTO> buscarEndereco(
 			@PathVariable Long pessoaId,
-			@PathVariable Long enderecoId
+			@PathVariable Long enderecoId,
+			WebRequest request
 	) {
-		return pessoaService.buscarEndereco(pessoaId, enderecoId);
+		if (naoModificado(request, () -> pessoaService.consultarVersaoEndereco(pessoaId, enderecoId))) {
+			return null;
+		}
+		EnderecoDTO endereco = pessoaService.consultarEndereco(pessoaId, enderecoId);
+		return ResponseEntity.ok().eTag(etag(String.valueOf(endereco.versao()))).body(endereco);
+	}
+
+	// Só consulta a versão quando a requisição traz If-None-Match; sem ele a versão vem junto do DTO
+	private static boolean naoModificado(WebRequest request, Supplier<String> versaoAtual) {
+		return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+				&& request.checkNotModified(etag(versaoAtual.get()));
+	}
+
+	static String etag(String versao) {
+		return "\"" + versao + "\"";
+	}
+
+	static Set<String> versoesExigidas(String ifMatch) {
+		if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+			return null;
+		}
+		// Uma ETag fraca nunca corresponde à versão atual pela comparação forte que o If-Match exige
+		Set<String> versoes = Arrays.stream(ifMatch.split(","))
+				.map(String::trim)
+				.filter(etag -> etag.length() >= 2 && etag.startsWith("\"") && etag.endsWith("\""))
+				.map(etag -> etag.substring(1, etag.length() - 1))
+				.collect(Collectors.toSet());
+		if (versoes.isEmpty()) {
+			throw new VersaoDesatualizadaException(ifMatch);
+		}
+		return versoes;
+	}
+
+	private <T> Consumer<T> escritorNdjson(OutputStream outputStream) {
+		ObjectWriter writer = objectMapper.writer();
+		return valor -> {
+			try {
+				outputStream.write(writer.writeValueAsBytes(valor));
+				outputStream.write('\n');
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		};
 	}
 
 }
\ No newline at end of file
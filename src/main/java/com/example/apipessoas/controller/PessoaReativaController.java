@@ -0,0 +1,264 @@
+package com.example.apipessoas.controller;
+
+import com.example.apipessoas.config.ReativoConfig;
+import com.example.apipessoas.dto.AlteracaoEndereco;
+import com.example.apipessoas.dto.AlteracaoPessoa;
+import com.example.apipessoas.dto.EnderecoDTO;
+import com.example.apipessoas.dto.LoteEnderecos;
+import com.example.apipessoas.dto.Pagina;
+import com.example.apipessoas.dto.PessoaDTO;
+import com.example.apipessoas.dto.Sincronizacao;
+import com.example.apipessoas.model.Endereco;
+import com.example.apipessoas.model.Pessoa;
+import com.example.apipessoas.service.BuscaPessoasService;
+import com.example.apipessoas.service.PessoaReativaService;
+import com.example.apipessoas.service.PessoaService;
+import com.example.apipessoas.service.SincronizacaoService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static com.example.apipessoas.controller.PessoaController.APPLICATION_MERGE_PATCH_JSON_VALUE;
+import static com.example.apipessoas.controller.PessoaController.APPLICATION_NDJSON_VALUE;
+import static com.example.apipessoas.controller.PessoaController.TAMANHO_MAXIMO_PAGINA;
+import static com.example.apipessoas.controller.PessoaController.TAMANHO_MAXIMO_SINCRONIZACAO;
+import static com.example.apipessoas.controller.PessoaController.etag;
+import static com.example.apipessoas.controller.PessoaController.versoesExigidas;
+
+// Escritas, busca por nome e sincronização continuam nos serviços JPA, que bloqueiam: rodam no boundedElastic
+// para não parar as threads de evento do Netty
+@RestController
+@RequestMapping(PessoaController.PATH)
+@Profile(ReativoConfig.PERFIL)
+@RequiredArgsConstructor
+@Validated
+public class PessoaReativaController {
+
+	private final PessoaReativaService pessoaReativaService;
+
+	private final PessoaService pessoaService;
+
+	private final BuscaPessoasService buscaPessoasService;
+
+	private final SincronizacaoService sincronizacaoService;
+
+	@GetMapping
+	public Mono<Pagina<PessoaDTO>> listarPessoas(
+			@RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = "50") @Min(1) @Max(TAMANHO_MAXIMO_PAGINA) int tamanho
+	) {
+		return pessoaReativaService.listarPessoas(cursor, tamanho);
+	}
+
+	@GetMapping("/search")
+	public Mono<Pagina<PessoaDTO>> buscar(
+			@RequestParam @NotBlank String q,
+			@RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = "20") @Min(1) @Max(TAMANHO_MAXIMO_PAGINA) int tamanho
+	) {
+		return bloqueante(() -> buscaPessoasService.buscar(q, cursor, tamanho));
+	}
+
+	@GetMapping("/sync")
+	public Mono<Sincronizacao> sincronizar(
+			@RequestParam(required = false) String since,
+			@RequestParam(defaultValue = "100") @Min(1) @Max(TAMANHO_MAXIMO_SINCRONIZACAO) int tamanho
+	) {
+		return bloqueante(() -> sincronizacaoService.sincronizar(since, tamanho));
+	}
+
+	@GetMapping(produces = APPLICATION_NDJSON_VALUE)
+	public Flux<PessoaDTO> transmitirPessoas() {
+		return pessoaReativaService.transmitirPessoas();
+	}
+
+	@PostMapping
+	public Mono<ResponseEntity<Pessoa>> salvar(@RequestBody @Valid Pessoa pessoa, ServerWebExchange exchange) {
+		return bloqueante(() -> pessoaService.salvar(pessoa))
+				.map(pessoaSalva -> ResponseEntity.created(uri(exchange, pessoaSalva.getId())).body(pessoaSalva));
+	}
+
+	@PutMapping("/{pessoaId}")
+	public Mono<ResponseEntity<Pessoa>> atualizar(
+			@PathVariable Long pessoaId,
+			@RequestBody @Valid Pessoa pessoa,
+			@RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch
+	) {
+		Set<String> versoesExigidas = versoesExigidas(ifMatch);
+		return bloqueante(() -> pessoaService.atualizar(pessoaId, pessoa, versoesExigidas))
+				.map(comEtag(Pessoa::versaoComEnderecos));
+	}
+
+	@PatchMapping(
+			path = "/{pessoaId}",
+			consumes = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_MERGE_PATCH_JSON_VALUE}
+	)
+	public Mono<ResponseEntity<Pessoa>> alterar(
+			@PathVariable Long pessoaId,
+			@RequestBody @Valid AlteracaoPessoa alteracao,
+			@RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch
+	) {
+		Set<String> versoesExigidas = versoesExigidas(ifMatch);
+		return bloqueante(() -> pessoaService.alterar(pessoaId, alteracao, versoesExigidas))
+				.map(comEtag(Pessoa::versaoComEnderecos));
+	}
+
+	@DeleteMapping("/{id}")
+	@ResponseStatus(HttpStatus.NO_CONTENT)
+	public Mono<Void> excluir(
+			@PathVariable Long id,
+			@RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch
+	) {
+		Set<String> versoesExigidas = versoesExigidas(ifMatch);
+		return bloqueante(() -> pessoaService.remover(id, versoesExigidas));
+	}
+
+	@GetMapping("/{id}")
+	public Mono<ResponseEntity<PessoaDTO>> buscarPeloId(@PathVariable Long id, ServerWebExchange exchange) {
+		return naoModificado(exchange, () -> pessoaReativaService.consultarVersao(id))
+				.flatMap(naoModificado -> naoModificado
+						? Mono.empty()
+						: pessoaReativaService.consultarPessoa(id).map(comEtag(PessoaDTO::versaoComEnderecos)));
+	}
+
+	@GetMapping("/{pessoaId}/enderecos")
+	public Mono<List<EnderecoDTO>> listarEnderecos(@PathVariable Long pessoaId) {
+		return pessoaReativaService.consultarEnderecos(pessoaId);
+	}
+
+	@PostMapping("/{id}/enderecos")
+	public Mono<ResponseEntity<Endereco>> adicionarEndereco(
+			@PathVariable Long id,
+			@RequestBody @Valid Endereco endereco,
+			ServerWebExchange exchange
+	) {
+		return bloqueante(() -> pessoaService.adicionarEndereco(id, endereco))
+				.map(enderecoSalvo -> ResponseEntity.created(uri(exchange, enderecoSalvo.getId())).body(enderecoSalvo));
+	}
+
+	@PutMapping("/{pessoaId}/enderecos")
+	public Mono<ResponseEntity<Set<Endereco>>> substituirEnderecos(
+			@PathVariable Long pessoaId,
+			@RequestBody @Size(max = LoteEnderecos.TAMANHO_MAXIMO) List<@Valid @NotNull Endereco> enderecos,
+			@RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch
+	) {
+		Set<String> versoesExigidas = versoesExigidas(ifMatch);
+		return bloqueante(() -> pessoaService.substituirEnderecos(pessoaId, enderecos, versoesExigidas))
+				.map(pessoa -> ResponseEntity.ok().eTag(etag(pessoa.versaoComEnderecos())).body(pessoa.getEnderecos()));
+	}
+
+	@PostMapping("/{pessoaId}/enderecos/lote")
+	public Mono<ResponseEntity<Set<Endereco>>> aplicarLoteEnderecos(
+			@PathVariable Long pessoaId,
+			@RequestBody @Valid LoteEnderecos lote,
+			@RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch
+	) {
+		Set<String> versoesExigidas = versoesExigidas(ifMatch);
+		return bloqueante(() -> pessoaService.aplicarLoteEnderecos(pessoaId, lote, versoesExigidas))
+				.map(pessoa -> ResponseEntity.ok().eTag(etag(pessoa.versaoComEnderecos())).body(pessoa.getEnderecos()));
+	}
+
+	@PutMapping("/{pessoaId}/endereco-principal/{enderecoId}")
+	public Mono<Endereco> definirEnderecoPrincipal(
+			@PathVariable Long pessoaId,
+			@PathVariable Long enderecoId
+	) {
+		return bloqueante(() -> pessoaService.definirEnderecoPrincipal(pessoaId, enderecoId));
+	}
+
+	@DeleteMapping("/{pessoaId}/enderecos/{enderecoId}")
+	@ResponseStatus(HttpStatus.NO_CONTENT)
+	public Mono<Void> removerEndereco(
+			@PathVariable Long pessoaId,
+			@PathVariable Long enderecoId
+	) {
+		return bloqueante(() -> pessoaService.removerEndereco(pessoaId, enderecoId));
+	}
+
+	@PutMapping("/{pessoaId}/enderecos/{enderecoId}")
+	public Mono<ResponseEntity<Endereco>> atualizarEndereco(
+			@PathVariable Long pessoaId,
+			@PathVariable Long enderecoId,
+			@RequestBody @Valid Endereco endereco,
+			@RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch
+	) {
+		Set<String> versoesExigidas = versoesExigidas(ifMatch);
+		return bloqueante(() -> pessoaService.atualizarEndereco(pessoaId, enderecoId, endereco, versoesExigidas))
+				.map(comEtag(enderecoAtualizado -> String.valueOf(enderecoAtualizado.getVersao())));
+	}
+
+	@PatchMapping(
+			path = "/{pessoaId}/enderecos/{enderecoId}",
+			consumes = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_MERGE_PATCH_JSON_VALUE}
+	)
+	public Mono<ResponseEntity<Endereco>> alterarEndereco(
+			@PathVariable Long pessoaId,
+			@PathVariable Long enderecoId,
+			@RequestBody @Valid AlteracaoEndereco alteracao,
+			@RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch
+	) {
+		Set<String> versoesExigidas = versoesExigidas(ifMatch);
+		return bloqueante(() -> pessoaService.alterarEndereco(pessoaId, enderecoId, alteracao, versoesExigidas))
+				.map(comEtag(enderecoAlterado -> String.valueOf(enderecoAlterado.getVersao())));
+	}
+
+	@GetMapping("/{pessoaId}/enderecos/{enderecoId}")
+	public Mono<ResponseEntity<EnderecoDTO>> buscarEndereco(
+			@PathVariable Long pessoaId,
+			@PathVariable Long enderecoId,
+			ServerWebExchange exchange
+	) {
+		return naoModificado(exchange, () -> pessoaReativaService.consultarVersaoEndereco(pessoaId, enderecoId))
+				.flatMap(naoModificado -> naoModificado
+						? Mono.empty()
+						: pessoaReativaService.consultarEndereco(pessoaId, enderecoId)
+								.map(comEtag(endereco -> String.valueOf(endereco.versao()))));
+	}
+
+	private static Mono<Boolean> naoModificado(ServerWebExchange exchange, Supplier<Mono<String>> versaoAtual) {
+		if (exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH) == null) {
+			return Mono.just(false);
+		}
+		return versaoAtual.get().map(versao -> exchange.checkNotModified(etag(versao)));
+	}
+
+	private static <T> Function<T, ResponseEntity<T>> comEtag(Function<T, String> versao) {
+		return corpo -> ResponseEntity.ok().eTag(etag(versao.apply(corpo))).body(corpo);
+	}
+
+	private static URI uri(ServerWebExchange exchange, Long id) {
+		return UriComponentsBuilder.fromUri(exchange.getRequest().getURI()).path("/{id}").buildAndExpand(id).toUri();
+	}
+
+	private static <T> Mono<T> bloqueante(Callable<T> chamada) {
+		return Mono.fromCallable(chamada).subscribeOn(Schedulers.boundedElastic());
+	}
+
+	private static Mono<Void> bloqueante(Runnable chamada) {
+		return Mono.<Void>fromRunnable(chamada).subscribeOn(Schedulers.boundedElastic());
+	}
+
+}
@@ -0,0 +1,15 @@
+package com.example.apipessoas.dto;
+
+import com.example.apipessoas.event.TipoAlteracao;
+import com.example.apipessoas.model.RegistroAlteracao;
+
+import java.time.Instant;
+
+public record AlteracaoDTO(long posicao, TipoAlteracao tipo, Long pessoaId, Long enderecoId, Instant ocorridaEm) {
+
+	public static AlteracaoDTO de(RegistroAlteracao registro) {
+		return new AlteracaoDTO(registro.getPosicao(), registro.getTipo(), registro.getPessoaId(),
+				registro.getEnderecoId(), registro.getOcorridaEm());
+	}
+
+}
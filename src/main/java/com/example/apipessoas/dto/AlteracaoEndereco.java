@@ -0,0 +1,29 @@
+package com.example.apipessoas.dto;
+
+import com.example.apipessoas.model.Endereco;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+
+import static com.example.apipessoas.dto.AlteracaoPessoa.alterar;
+
+public record AlteracaoEndereco(
+		@Pattern(regexp = "(?s).*\\S.*", message = "não deve estar em branco") String logradouro,
+		@Pattern(regexp = "^\\d{5}-\\d{3}$", message = "CEP inválido") String cep,
+		@Positive Integer numero,
+		@Pattern(regexp = "(?s).*\\S.*", message = "não deve estar em branco") String cidade
+) {
+
+	public static AlteracaoEndereco de(Endereco endereco) {
+		return new AlteracaoEndereco(endereco.getLogradouro(), endereco.getCep(), endereco.getNumero(),
+				endereco.getCidade());
+	}
+
+	public boolean aplicarEm(Endereco endereco) {
+		boolean alterou = alterar(logradouro, endereco.getLogradouro(), endereco::setLogradouro);
+		alterou |= alterar(cep, endereco.getCep(), endereco::setCep);
+		alterou |= alterar(numero, endereco.getNumero(), endereco::setNumero);
+		alterou |= alterar(cidade, endereco.getCidade(), endereco::setCidade);
+		return alterou;
+	}
+
+}
@@ -0,0 +1,33 @@
+package com.example.apipessoas.dto;
+
+import com.example.apipessoas.model.Pessoa;
+import jakarta.validation.constraints.Pattern;
+
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+public record AlteracaoPessoa(
+		@Pattern(regexp = "(?s).*\\S.*", message = "não deve estar em branco") String nome,
+		LocalDate dataNascimento
+) {
+
+	public static AlteracaoPessoa de(Pessoa pessoa) {
+		return new AlteracaoPessoa(pessoa.getNome(), pessoa.getDataNascimento());
+	}
+
+	public boolean aplicarEm(Pessoa pessoa) {
+		boolean alterou = alterar(nome, pessoa.getNome(), pessoa::setNome);
+		alterou |= alterar(dataNascimento, pessoa.getDataNascimento(), pessoa::setDataNascimento);
+		return alterou;
+	}
+
+	static <T> boolean alterar(T novo, T atual, Consumer<T> setter) {
+		if (novo == null || Objects.equals(novo, atual)) {
+			return false;
+		}
+		setter.accept(novo);
+		return true;
+	}
+
+}
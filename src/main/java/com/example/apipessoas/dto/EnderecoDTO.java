@@ -0,0 +1,15 @@
+package com.example.apipessoas.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+public record EnderecoDTO(
+		Long id,
+		@JsonIgnore Long pessoaId,
+		String logradouro,
+		String cep,
+		Integer numero,
+		String cidade,
+		@JsonIgnore long versao
+) {
+
+}
@@ -0,0 +1,13 @@
+package com.example.apipessoas.dto;
+
+public record EnderecoPessoaDTO(
+		Long pessoaId,
+		String nomePessoa,
+		Long id,
+		String logradouro,
+		String cep,
+		Integer numero,
+		String cidade
+) {
+
+}
@@ -0,0 +1,15 @@
+package com.example.apipessoas.dto;
+
+import java.time.Instant;
+
+public record EnderecoSincronizado(
+		Long id,
+		Long pessoaId,
+		String logradouro,
+		String cep,
+		Integer numero,
+		String cidade,
+		Instant ultimaAlteracao
+) {
+
+}
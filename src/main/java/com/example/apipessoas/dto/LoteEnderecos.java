@@ -0,0 +1,26 @@
+package com.example.apipessoas.dto;
+
+import com.example.apipessoas.model.Endereco;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public record LoteEnderecos(
+		@Size(max = TAMANHO_MAXIMO) List<@Valid @NotNull Endereco> incluir,
+		@Size(max = TAMANHO_MAXIMO) Map<@NotNull Long, @Valid @NotNull AlteracaoEndereco> alterar,
+		@Size(max = TAMANHO_MAXIMO) Set<@NotNull Long> remover
+) {
+
+	public static final int TAMANHO_MAXIMO = 500;
+
+	public LoteEnderecos {
+		incluir = incluir == null ? List.of() : incluir;
+		alterar = alterar == null ? Map.of() : alterar;
+		remover = remover == null ? Set.of() : remover;
+	}
+
+}
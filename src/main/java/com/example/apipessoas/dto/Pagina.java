@@ -0,0 +1,7 @@
+package com.example.apipessoas.dto;
+
+import java.util.List;
+
+public record Pagina<T>(List<T> conteudo, String proximoCursor) {
+
+}
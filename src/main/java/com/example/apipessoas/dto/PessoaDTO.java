@@ -0,0 +1,49 @@
+package com.example.apipessoas.dto;
+
+import com.example.apipessoas.model.Pessoa;
+import com.example.apipessoas.model.ResumoEndereco;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record PessoaDTO(
+		Long id,
+		String nome,
+		LocalDate dataNascimento,
+		List<EnderecoDTO> enderecos,
+		EnderecoDTO enderecoPrincipal,
+		ResumoEndereco resumoEnderecoPrincipal,
+		@JsonIgnore Long enderecoPrincipalId,
+		@JsonIgnore long versao
+) {
+
+	public PessoaDTO(Long id, String nome, LocalDate dataNascimento, List<EnderecoDTO> enderecos,
+			EnderecoDTO enderecoPrincipal, long versao) {
+		this(id, nome, dataNascimento, enderecos, enderecoPrincipal,
+				enderecoPrincipal == null ? null : new ResumoEndereco(enderecoPrincipal.cep(), enderecoPrincipal.cidade()),
+				enderecoPrincipal == null ? null : enderecoPrincipal.id(), versao);
+	}
+
+	// Para select new, que não aceita construtores aninhados; os endereços vêm depois em comEnderecos
+	public PessoaDTO(Long id, String nome, LocalDate dataNascimento, long versao, Long enderecoPrincipalId,
+			String cepPrincipal, String cidadePrincipal) {
+		this(id, nome, dataNascimento, List.of(), null,
+				enderecoPrincipalId == null ? null : new ResumoEndereco(cepPrincipal, cidadePrincipal),
+				enderecoPrincipalId, versao);
+	}
+
+	public String versaoComEnderecos() {
+		return Pessoa.versaoComEnderecos(versao, enderecos.stream().mapToLong(EnderecoDTO::versao).sum());
+	}
+
+	public PessoaDTO comEnderecos(List<EnderecoDTO> enderecos) {
+		EnderecoDTO principal = enderecos.stream()
+				.filter(endereco -> endereco.id().equals(enderecoPrincipalId))
+				.findFirst()
+				.orElse(enderecoPrincipal);
+		return new PessoaDTO(id, nome, dataNascimento, List.copyOf(enderecos), principal, resumoEnderecoPrincipal,
+				enderecoPrincipalId, versao);
+	}
+
+}
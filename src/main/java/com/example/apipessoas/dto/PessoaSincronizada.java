@@ -0,0 +1,14 @@
+package com.example.apipessoas.dto;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+public record PessoaSincronizada(
+		Long id,
+		String nome,
+		LocalDate dataNascimento,
+		Long enderecoPrincipalId,
+		Instant ultimaAlteracao
+) {
+
+}
@@ -0,0 +1,16 @@
+package com.example.apipessoas.dto;
+
+import com.example.apipessoas.event.TipoAlteracao;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.Instant;
+
+public record RemocaoSincronizada(
+		TipoAlteracao tipo,
+		Long pessoaId,
+		Long enderecoId,
+		Instant removidaEm,
+		@JsonIgnore long registroId
+) {
+
+}
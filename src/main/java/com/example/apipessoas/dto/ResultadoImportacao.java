@@ -0,0 +1,22 @@
+package com.example.apipessoas.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public record ResultadoImportacao(long indice, Long id, List<String> erros) {
+
+	public static ResultadoImportacao importado(long indice, Long id) {
+		return new ResultadoImportacao(indice, id, List.of());
+	}
+
+	public static ResultadoImportacao rejeitado(long indice, List<String> erros) {
+		return new ResultadoImportacao(indice, null, erros);
+	}
+
+	public static ResultadoImportacao rejeitado(long indice, String erro) {
+		return rejeitado(indice, List.of(erro));
+	}
+
+}
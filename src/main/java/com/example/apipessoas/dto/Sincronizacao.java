@@ -0,0 +1,13 @@
+package com.example.apipessoas.dto;
+
+import java.util.List;
+
+public record Sincronizacao(
+		List<PessoaSincronizada> pessoas,
+		List<EnderecoSincronizado> enderecos,
+		List<RemocaoSincronizada> remocoes,
+		String marca,
+		boolean completa
+) {
+
+}
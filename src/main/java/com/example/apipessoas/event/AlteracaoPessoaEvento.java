@@ -0,0 +1,10 @@
+package com.example.apipessoas.event;
+
+// Registrado na mesma transação que o publicou; ver RegistradorAlteracoes
+public record AlteracaoPessoaEvento(TipoAlteracao tipo, Long pessoaId, Long enderecoId) {
+
+	public static AlteracaoPessoaEvento daPessoa(TipoAlteracao tipo, Long pessoaId) {
+		return new AlteracaoPessoaEvento(tipo, pessoaId, null);
+	}
+
+}
@@ -0,0 +1,5 @@
+package com.example.apipessoas.event;
+
+public record PessoaSalvaEvento(Long id, String nome) {
+
+}
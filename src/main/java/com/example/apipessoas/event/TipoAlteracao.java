@@ -0,0 +1,13 @@
+package com.example.apipessoas.event;
+
+public enum TipoAlteracao {
+
+	PESSOA_CRIADA,
+	PESSOA_ALTERADA,
+	PESSOA_REMOVIDA,
+	ENDERECO_ADICIONADO,
+	ENDERECO_ALTERADO,
+	ENDERECO_REMOVIDO,
+	ENDERECO_PRINCIPAL_DEFINIDO
+
+}
@@ -0,0 +1,15 @@
+package com.example.apipessoas.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.GONE)
+public class AlteracoesDescartadasException extends NegocioException {
+
+	private static final long serialVersionUID = 1L;
+
+	public AlteracoesDescartadasException(String desde) {
+		super(String.format("As alterações desde %s já foram descartadas; recomece do início", desde));
+	}
+
+}
@@ -0,0 +1,15 @@
+package com.example.apipessoas.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class CursorInvalidoException extends NegocioException {
+
+	private static final long serialVersionUID = 1L;
+
+	public CursorInvalidoException(String cursor) {
+		super(String.format("Cursor de paginação inválido: %s", cursor));
+	}
+
+}
@@ -0,0 +1,15 @@
+package com.example.apipessoas.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class LoteEnderecosInvalidoException extends NegocioException {
+
+	private static final long serialVersionUID = 1L;
+
+	public LoteEnderecosInvalidoException(Long enderecoId) {
+		super(String.format("Endereço %d não pode ser alterado e removido no mesmo lote", enderecoId));
+	}
+
+}
@@ -0,0 +1,15 @@
+package com.example.apipessoas.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class PrefixoCepInvalidoException extends NegocioException {
+
+	private static final long serialVersionUID = 1L;
+
+	public PrefixoCepInvalidoException(String prefixo) {
+		super(String.format("Prefixo de CEP inválido: %s", prefixo));
+	}
+
+}
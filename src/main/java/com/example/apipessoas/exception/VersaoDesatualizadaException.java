@@ -0,0 +1,19 @@
+package com.example.apipessoas.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class VersaoDesatualizadaException extends NegocioException {
+
+	private static final long serialVersionUID = 1L;
+
+	public VersaoDesatualizadaException(String versaoEsperada, String versaoAtual) {
+		super(String.format("A versão informada (%s) não é a atual (%s)", versaoEsperada, versaoAtual));
+	}
+
+	public VersaoDesatualizadaException(String condicao) {
+		super(String.format("A condição If-Match não corresponde a nenhuma versão: %s", condicao));
+	}
+
+}
@@ -1,10 +1,16 @@
 package com.example.apipessoas.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
@@ -14,19 +20,47 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.With;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+import java.time.Instant;
+import java.util.UUID;
 
 @Entity
+@DynamicUpdate
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(indexes = {
+		@Index(name = "idx_endereco_pessoa_id", columnList = "pessoa_id, id"),
+		@Index(name = "idx_endereco_cep_numerico", columnList = "cep_numerico, id"),
+		@Index(name = "idx_endereco_cidade", columnList = "cidade, id"),
+		@Index(name = "idx_endereco_ultima_alteracao", columnList = "ultima_alteracao, id")
+})
 @With
 @Builder
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+// O endereço principal é lazy, e o proxy dele pode acabar também na coleção de endereços da pessoa
+@JsonIgnoreProperties("hibernateLazyInitializer")
 public class Endereco {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(generator = "endereco_seq")
+	@GenericGenerator(
+			name = "endereco_seq",
+			strategy = GeradorIdSequencial.ESTRATEGIA,
+			parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "endereco_seq")
+	)
 	private Long id;
 
+	@Column(nullable = false, updatable = false)
+	@JsonIgnore
+	private UUID uuid;
+
 	@Column(nullable = false)
 	@NotBlank
 	private String logradouro;
@@ -36,6 +70,11 @@ public class Endereco {
 	@NotNull
 	private String cep;
 
+	// Calculado ao gravar, para que a busca por prefixo de CEP seja uma faixa contínua no índice
+	@Column(name = "cep_numerico", nullable = false)
+	@JsonIgnore
+	private Integer cepNumerico;
+
 	@Column(nullable = false)
 	@Positive
 	@NotNull
@@ -45,17 +84,52 @@ public class Endereco {
 	@NotBlank
 	private String cidade;
 
+	@Column(name = "pessoa_id", insertable = false, updatable = false)
+	@JsonIgnore
+	private Long pessoaId;
+
+	@Version
+	@JsonIgnore
+	private long versao;
+
+	@Column(name = "ultima_alteracao", nullable = false)
+	@JsonIgnore
+	private Instant ultimaAlteracao;
+
+	public UUID getUuid() {
+		if (uuid == null) {
+			uuid = UUID.randomUUID();
+		}
+		return uuid;
+	}
+
+	@PrePersist
+	@PreUpdate
+	void aoGravar() {
+		getUuid();
+		// Roda antes da Bean Validation; um CEP inválido fica sem número e é rejeitado por ela
+		cepNumerico = cep != null && cep.matches("\\d{5}-\\d{3}") ? Integer.valueOf(cep.replace("-", "")) : null;
+		ultimaAlteracao = Instant.now();
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) return true;
 		if (!(o instanceof Endereco other)) return false;
 
-		return id != null && id.equals(other.getId());
+		return getUuid().equals(other.getUuid());
 	}
 
 	@Override
 	public int hashCode() {
-		return getClass().hashCode();
+		return getUuid().hashCode();
+	}
+
+	public static class EnderecoBuilder {
+
+		// Sorteado já ao construir, para que as cópias feitas com os métodos with* mantenham a identidade
+		private UUID uuid = UUID.randomUUID();
+
 	}
 
 }
\ No newline at end of file
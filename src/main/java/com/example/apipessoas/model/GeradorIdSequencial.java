@@ -0,0 +1,30 @@
+package com.example.apipessoas.model;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.id.OptimizableGenerator;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+// O INCREMENT BY da sequência precisa acompanhar o tamanho de alocação
+public class GeradorIdSequencial extends SequenceStyleGenerator {
+
+	public static final String ESTRATEGIA = "com.example.apipessoas.model.GeradorIdSequencial";
+
+	public static final String PROPRIEDADE_TAMANHO_ALOCACAO = "api-pessoas.id.tamanho-alocacao";
+
+	public static final int TAMANHO_ALOCACAO_PADRAO = 50;
+
+	@Override
+	public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+		int tamanhoAlocacao = serviceRegistry.getService(ConfigurationService.class).getSetting(
+				PROPRIEDADE_TAMANHO_ALOCACAO, StandardConverters.INTEGER, TAMANHO_ALOCACAO_PADRAO);
+		parameters.putIfAbsent(OptimizableGenerator.INCREMENT_PARAM, String.valueOf(tamanhoAlocacao));
+		super.configure(type, parameters, serviceRegistry);
+	}
+
+}
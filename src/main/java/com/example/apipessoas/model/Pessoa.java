@@ -1,15 +1,25 @@
 package com.example.apipessoas.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import jakarta.persistence.AttributeOverride;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
+import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
-import jakarta.validation.Valid;
+import jakarta.persistence.OrderBy;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -17,12 +27,24 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.With;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
+import java.time.Instant;
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
 
 @Entity
+@DynamicUpdate
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(indexes = @Index(name = "idx_pessoa_ultima_alteracao", columnList = "ultima_alteracao, id"))
 @With
 @Builder
 @Data
@@ -30,10 +52,22 @@ import java.util.List;
 @AllArgsConstructor
 public class Pessoa {
 
+	public static final int TAMANHO_LOTE_ENDERECOS = 100;
+
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(generator = "pessoa_seq")
+	@GenericGenerator(
+			name = "pessoa_seq",
+			strategy = GeradorIdSequencial.ESTRATEGIA,
+			parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "pessoa_seq")
+	)
 	private Long id;
 
+	// Identidade em equals e hashCode: ao contrário do id, já existe antes do persist e nunca muda
+	@Column(nullable = false, updatable = false)
+	@JsonIgnore
+	private UUID uuid;
+
 	@Column(nullable = false)
 	@NotBlank
 	private String nome;
@@ -44,25 +78,89 @@ public class Pessoa {
 
 	@OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
 	@JoinColumn(name = "pessoa_id")
+	@OrderBy("id")
+	@BatchSize(size = TAMANHO_LOTE_ENDERECOS)
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 	@NotNull
+	@JsonDeserialize(as = LinkedHashSet.class)
 	@Builder.Default
-	private List<Endereco> enderecos = new ArrayList<>();
+	private Set<Endereco> enderecos = new LinkedHashSet<>();
 
-	@ManyToOne
-	@Valid
+	@ManyToOne(fetch = FetchType.LAZY)
 	private Endereco enderecoPrincipal;
 
+	// Mantido junto com o principal, para que as listagens não precisem do join com o endereço
+	@Embedded
+	@AttributeOverride(name = "cep", column = @Column(name = "endereco_principal_cep"))
+	@AttributeOverride(name = "cidade", column = @Column(name = "endereco_principal_cidade"))
+	@JsonProperty(access = JsonProperty.Access.READ_ONLY)
+	private ResumoEndereco resumoEnderecoPrincipal;
+
+	// Não muda quando um endereço é alterado; ver versaoComEnderecos. Primitiva para que o Spring Data
+	// continue decidindo entre persist e merge pelo id
+	@Version
+	@JsonIgnore
+	private long versao;
+
+	@Column(name = "ultima_alteracao", nullable = false)
+	@JsonIgnore
+	private Instant ultimaAlteracao;
+
+	// Para uma mesma versão da pessoa a soma das versões dos endereços só cresce, então o par nunca se repete
+	public static String versaoComEnderecos(long versao, long somaVersoesEnderecos) {
+		return versao + "." + somaVersoesEnderecos;
+	}
+
+	public String versaoComEnderecos() {
+		return versaoComEnderecos(versao, enderecos.stream().mapToLong(Endereco::getVersao).sum());
+	}
+
+	public void setEnderecoPrincipal(Endereco enderecoPrincipal) {
+		this.enderecoPrincipal = enderecoPrincipal;
+		atualizarResumoEnderecoPrincipal();
+	}
+
+	public void atualizarResumoEnderecoPrincipal() {
+		resumoEnderecoPrincipal = enderecoPrincipal == null ? null : ResumoEndereco.de(enderecoPrincipal);
+	}
+
+	public Endereco primeiroEndereco() {
+		return enderecos.isEmpty() ? null : enderecos.iterator().next();
+	}
+
+	public UUID getUuid() {
+		if (uuid == null) {
+			uuid = UUID.randomUUID();
+		}
+		return uuid;
+	}
+
+	@PrePersist
+	@PreUpdate
+	void registrarAlteracao() {
+		// Uma pessoa nova que nunca foi comparada ainda não tem uuid
+		getUuid();
+		ultimaAlteracao = Instant.now();
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) return true;
 		if (!(o instanceof Pessoa other)) return false;
 
-		return id != null && id.equals(other.getId());
+		return getUuid().equals(other.getUuid());
 	}
 
 	@Override
 	public int hashCode() {
-		return getClass().hashCode();
+		return getUuid().hashCode();
+	}
+
+	public static class PessoaBuilder {
+
+		// Sorteado já ao construir, para que as cópias feitas com os métodos with* mantenham a identidade
+		private UUID uuid = UUID.randomUUID();
+
 	}
 
 }
@@ -0,0 +1,57 @@
+package com.example.apipessoas.model;
+
+import com.example.apipessoas.event.TipoAlteracao;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+import java.time.Instant;
+
+// A posição é atribuída só na publicação: um id maior pode ser confirmado antes de um menor
+@Entity
+@Table(indexes = {
+		@Index(name = "idx_registro_alteracao_posicao", columnList = "posicao", unique = true),
+		@Index(name = "idx_registro_alteracao_ocorrida_em", columnList = "ocorrida_em, id")
+})
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegistroAlteracao {
+
+	@Id
+	@GeneratedValue(generator = "registro_alteracao_seq")
+	@GenericGenerator(
+			name = "registro_alteracao_seq",
+			strategy = GeradorIdSequencial.ESTRATEGIA,
+			parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "registro_alteracao_seq")
+	)
+	private Long id;
+
+	@Column(nullable = false, length = 40)
+	@Enumerated(EnumType.STRING)
+	private TipoAlteracao tipo;
+
+	@Column(nullable = false)
+	private Long pessoaId;
+
+	private Long enderecoId;
+
+	@Column(name = "ocorrida_em", nullable = false)
+	private Instant ocorridaEm;
+
+	private Long posicao;
+
+}
@@ -0,0 +1,22 @@
+package com.example.apipessoas.model;
+
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumoEndereco {
+
+	private String cep;
+
+	private String cidade;
+
+	public static ResumoEndereco de(Endereco endereco) {
+		return new ResumoEndereco(endereco.getCep(), endereco.getCidade());
+	}
+
+}
@@ -0,0 +1,21 @@
+package com.example.apipessoas.repository;
+
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+public interface EnderecoReativoRepository extends R2dbcRepository<LinhaEndereco, Long> {
+
+	Flux<LinhaEndereco> findByPessoaIdOrderById(Long pessoaId);
+
+	Flux<LinhaEndereco> findByPessoaIdInOrderByPessoaIdAscIdAsc(Collection<Long> pessoaIds);
+
+	Mono<LinhaEndereco> findByIdAndPessoaId(Long id, Long pessoaId);
+
+	@Query("select versao from endereco where id = :id and pessoa_id = :pessoaId")
+	Mono<Long> buscarVersao(long id, long pessoaId);
+
+}
@@ -1,10 +1,84 @@
 package com.example.apipessoas.repository;
 
+import com.example.apipessoas.dto.EnderecoDTO;
+import com.example.apipessoas.dto.EnderecoPessoaDTO;
+import com.example.apipessoas.dto.EnderecoSincronizado;
 import com.example.apipessoas.model.Endereco;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+
 @Repository
 public interface EnderecoRepository extends JpaRepository<Endereco, Long> {
 
+	@QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+	Optional<Endereco> findByIdAndPessoaId(Long id, Long pessoaId);
+
+	@Query("""
+			select new com.example.apipessoas.dto.EnderecoDTO(e.id, e.pessoaId, e.logradouro, e.cep, e.numero, e.cidade,
+				e.versao)
+			from Endereco e
+			where e.id = :id and e.pessoaId = :pessoaId""")
+	@QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+	Optional<EnderecoDTO> buscarDTO(Long id, Long pessoaId);
+
+	@Query("select e.versao from Endereco e where e.id = :id and e.pessoaId = :pessoaId")
+	@QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+	Optional<Long> buscarVersao(Long id, Long pessoaId);
+
+	@Query("""
+			select new com.example.apipessoas.dto.EnderecoDTO(e.id, e.pessoaId, e.logradouro, e.cep, e.numero, e.cidade,
+				e.versao)
+			from Endereco e
+			where e.pessoaId = :pessoaId
+			order by e.id""")
+	@QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+	List<EnderecoDTO> listarDTOsPorPessoa(Long pessoaId);
+
+	@Query("""
+			select new com.example.apipessoas.dto.EnderecoDTO(e.id, e.pessoaId, e.logradouro, e.cep, e.numero, e.cidade,
+				e.versao)
+			from Endereco e
+			where e.pessoaId in :pessoaIds
+			order by e.pessoaId, e.id""")
+	@QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+	List<EnderecoDTO> listarDTOsPorPessoas(Collection<Long> pessoaIds);
+
+	// A primeira condição limita o início da faixa no índice; a segunda descarta o que já foi devolvido
+	@Query("""
+			select new com.example.apipessoas.dto.EnderecoPessoaDTO(p.id, p.nome, e.id, e.logradouro, e.cep, e.numero,
+				e.cidade)
+			from Endereco e join Pessoa p on p.id = e.pessoaId
+			where e.cepNumerico between :cepApos and :cepMaximo
+				and (e.cepNumerico > :cepApos or e.id > :idApos)
+			order by e.cepNumerico, e.id""")
+	List<EnderecoPessoaDTO> listarPorFaixaDeCepApos(int cepApos, long idApos, int cepMaximo, Pageable pageable);
+
+	@Query("""
+			select new com.example.apipessoas.dto.EnderecoPessoaDTO(p.id, p.nome, e.id, e.logradouro, e.cep, e.numero,
+				e.cidade)
+			from Endereco e join Pessoa p on p.id = e.pessoaId
+			where e.cidade = :cidade and e.id > :idApos
+			order by e.id""")
+	List<EnderecoPessoaDTO> listarPorCidadeAposId(String cidade, long idApos, Pageable pageable);
+
+	@Query("""
+			select new com.example.apipessoas.dto.EnderecoSincronizado(e.id, e.pessoaId, e.logradouro, e.cep, e.numero,
+				e.cidade, e.ultimaAlteracao)
+			from Endereco e
+			where e.ultimaAlteracao between :desde and :ate
+				and (e.ultimaAlteracao > :desde or e.id > :idApos)
+			order by e.ultimaAlteracao, e.id""")
+	List<EnderecoSincronizado> listarAlteradosApos(Instant desde, long idApos, Instant ate, Pageable pageable);
+
 }
@@ -0,0 +1,22 @@
+package com.example.apipessoas.repository;
+
+import com.example.apipessoas.dto.EnderecoDTO;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Table("endereco")
+public record LinhaEndereco(
+		@Id Long id,
+		Long pessoaId,
+		String logradouro,
+		String cep,
+		Integer numero,
+		String cidade,
+		long versao
+) {
+
+	public EnderecoDTO paraDTO() {
+		return new EnderecoDTO(id, pessoaId, logradouro, cep, numero, cidade, versao);
+	}
+
+}
@@ -0,0 +1,25 @@
+package com.example.apipessoas.repository;
+
+import com.example.apipessoas.dto.PessoaDTO;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDate;
+
+@Table("pessoa")
+public record LinhaPessoa(
+		@Id Long id,
+		String nome,
+		LocalDate dataNascimento,
+		long versao,
+		Long enderecoPrincipalId,
+		String enderecoPrincipalCep,
+		String enderecoPrincipalCidade
+) {
+
+	public PessoaDTO paraDTO() {
+		return new PessoaDTO(id, nome, dataNascimento, versao, enderecoPrincipalId, enderecoPrincipalCep,
+				enderecoPrincipalCidade);
+	}
+
+}
@@ -0,0 +1,19 @@
+package com.example.apipessoas.repository;
+
+import java.time.LocalDate;
+
+public record LinhaPessoaEndereco(
+		Long pessoaId,
+		String nome,
+		LocalDate dataNascimento,
+		long versao,
+		Long enderecoPrincipalId,
+		Long enderecoId,
+		String logradouro,
+		String cep,
+		Integer numero,
+		String cidade,
+		Long enderecoVersao
+) {
+
+}
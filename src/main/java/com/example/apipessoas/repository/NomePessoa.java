@@ -0,0 +1,5 @@
+package com.example.apipessoas.repository;
+
+public record NomePessoa(Long id, String nome) {
+
+}
@@ -0,0 +1,20 @@
+package com.example.apipessoas.repository;
+
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface PessoaReativaRepository extends R2dbcRepository<LinhaPessoa, Long> {
+
+	@Query("select * from pessoa where id > :id order by id limit :limite")
+	Flux<LinhaPessoa> listarAposId(long id, int limite);
+
+	@Query("""
+			select p.versao, cast(coalesce(sum(e.versao), 0) as bigint) as soma_versoes_enderecos
+			from pessoa p left join endereco e on e.pessoa_id = p.id
+			where p.id = :id
+			group by p.id, p.versao""")
+	Mono<VersaoPessoa> buscarVersao(long id);
+
+}
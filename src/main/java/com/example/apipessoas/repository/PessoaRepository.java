@@ -1,10 +1,101 @@
 package com.example.apipessoas.repository;
 
+import com.example.apipessoas.dto.PessoaDTO;
+import com.example.apipessoas.dto.PessoaSincronizada;
 import com.example.apipessoas.model.Pessoa;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
 @Repository
 public interface PessoaRepository extends JpaRepository<Pessoa, Long> {
 
+	@Override
+	@EntityGraph(attributePaths = {"enderecos", "enderecoPrincipal"})
+	Optional<Pessoa> findById(Long id);
+
+	// Sem join com os endereços, que nem todo banco aceita travar junto
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select p from Pessoa p where p.id = :id")
+	Optional<Pessoa> buscarParaAlteracao(Long id);
+
+	// Os endereços vêm à parte, para a página inteira, evitando a paginação em memória de um join com a coleção
+	@Query("""
+			select new com.example.apipessoas.dto.PessoaDTO(p.id, p.nome, p.dataNascimento, p.versao,
+				p.enderecoPrincipal.id, p.resumoEnderecoPrincipal.cep, p.resumoEnderecoPrincipal.cidade)
+			from Pessoa p
+			where p.id > :id
+			order by p.id""")
+	@QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+	List<PessoaDTO> listarDTOsAposId(Long id, Pageable pageable);
+
+	@Query("""
+			select new com.example.apipessoas.repository.LinhaPessoaEndereco(p.id, p.nome, p.dataNascimento,
+				p.versao, p.enderecoPrincipal.id, e.id, e.logradouro, e.cep, e.numero, e.cidade, e.versao)
+			from Pessoa p left join p.enderecos e
+			where p.id = :id
+			order by e.id""")
+	@QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+	List<LinhaPessoaEndereco> listarLinhasComEnderecos(Long id);
+
+	@Query("""
+			select new com.example.apipessoas.dto.PessoaDTO(p.id, p.nome, p.dataNascimento, p.versao,
+				p.enderecoPrincipal.id, p.resumoEnderecoPrincipal.cep, p.resumoEnderecoPrincipal.cidade)
+			from Pessoa p
+			where p.id in :ids""")
+	List<PessoaDTO> listarDTOsPorIds(Collection<Long> ids);
+
+	@Query("""
+			select new com.example.apipessoas.repository.VersaoPessoa(p.versao, coalesce(sum(e.versao), 0))
+			from Pessoa p left join p.enderecos e
+			where p.id = :id
+			group by p.id, p.versao""")
+	@QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+	Optional<VersaoPessoa> buscarVersao(Long id);
+
+	@Query("select min(p.id) from Pessoa p")
+	Optional<Long> buscarMenorId();
+
+	@Query("select max(p.id) from Pessoa p")
+	Optional<Long> buscarMaiorId();
+
+	@Query("select new com.example.apipessoas.repository.NomePessoa(p.id, p.nome) from Pessoa p where p.id between :primeiro and :ultimo")
+	List<NomePessoa> listarNomesEntre(long primeiro, long ultimo);
+
+	// Uma varredura completa não deve expulsar do cache de segundo nível as entradas realmente quentes. O endereço
+	// principal não precisa de join: é encontrado entre os endereços, carregados em lote (ver transmitirPessoas)
+	@Query("select p from Pessoa p order by p.id")
+	@QueryHints({
+			@QueryHint(name = HINT_FETCH_SIZE, value = "100"),
+			@QueryHint(name = HINT_CACHE_MODE, value = "IGNORE"),
+			@QueryHint(name = HINT_READ_ONLY, value = "true")
+	})
+	Stream<Pessoa> streamAll();
+
+	@Query("""
+			select new com.example.apipessoas.dto.PessoaSincronizada(p.id, p.nome, p.dataNascimento,
+				p.enderecoPrincipal.id, p.ultimaAlteracao)
+			from Pessoa p
+			where p.ultimaAlteracao between :desde and :ate
+				and (p.ultimaAlteracao > :desde or p.id > :idApos)
+			order by p.ultimaAlteracao, p.id""")
+	List<PessoaSincronizada> listarAlteradasApos(Instant desde, long idApos, Instant ate, Pageable pageable);
+
 }
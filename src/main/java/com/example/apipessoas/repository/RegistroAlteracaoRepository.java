@@ -0,0 +1,50 @@
+package com.example.apipessoas.repository;
+
+import com.example.apipessoas.dto.AlteracaoDTO;
+import com.example.apipessoas.dto.RemocaoSincronizada;
+import com.example.apipessoas.model.RegistroAlteracao;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface RegistroAlteracaoRepository extends JpaRepository<RegistroAlteracao, Long> {
+
+	@Query("select r from RegistroAlteracao r where r.posicao is null order by r.id")
+	List<RegistroAlteracao> listarPendentes(Pageable pageable);
+
+	@Query("select coalesce(max(r.posicao), 0) from RegistroAlteracao r")
+	long buscarUltimaPosicao();
+
+	@Query("select coalesce(min(r.posicao), 0) from RegistroAlteracao r")
+	long buscarPrimeiraPosicao();
+
+	@Query("select coalesce(max(r.posicao), 0) from RegistroAlteracao r where r.ocorridaEm < :limite")
+	long buscarUltimaPosicaoAntes(Instant limite);
+
+	@Query("select r.id from RegistroAlteracao r where r.posicao <= :posicao order by r.posicao")
+	List<Long> listarIdsAtePosicao(long posicao, Pageable pageable);
+
+	@Query("""
+			select new com.example.apipessoas.dto.AlteracaoDTO(r.posicao, r.tipo, r.pessoaId, r.enderecoId, r.ocorridaEm)
+			from RegistroAlteracao r
+			where r.posicao > :posicao
+			order by r.posicao""")
+	List<AlteracaoDTO> listarDTOsAposPosicao(long posicao, Pageable pageable);
+
+	@Query("""
+			select new com.example.apipessoas.dto.RemocaoSincronizada(r.tipo, r.pessoaId, r.enderecoId, r.ocorridaEm,
+				r.id)
+			from RegistroAlteracao r
+			where r.ocorridaEm between :desde and :ate
+				and (r.ocorridaEm > :desde or r.id > :idApos)
+				and r.tipo in (com.example.apipessoas.event.TipoAlteracao.PESSOA_REMOVIDA,
+					com.example.apipessoas.event.TipoAlteracao.ENDERECO_REMOVIDO)
+			order by r.ocorridaEm, r.id""")
+	List<RemocaoSincronizada> listarRemocoesApos(Instant desde, long idApos, Instant ate, Pageable pageable);
+
+}
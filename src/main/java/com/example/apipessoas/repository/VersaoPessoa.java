@@ -0,0 +1,5 @@
+package com.example.apipessoas.repository;
+
+public record VersaoPessoa(Long versao, Long somaVersoesEnderecos) {
+
+}
@@ -0,0 +1,36 @@
+package com.example.apipessoas.service;
+
+import com.example.apipessoas.dto.AlteracaoDTO;
+import com.example.apipessoas.dto.Pagina;
+import com.example.apipessoas.exception.AlteracoesDescartadasException;
+import com.example.apipessoas.repository.RegistroAlteracaoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class AlteracoesService {
+
+	private final RegistroAlteracaoRepository registroAlteracaoRepository;
+
+	// As posições são consecutivas: uma lacuna antes da primeira guardada indica alterações já removidas
+	public Pagina<AlteracaoDTO> listarAlteracoes(long desde, int tamanho) {
+		if (desde > 0 && registroAlteracaoRepository.buscarPrimeiraPosicao() > desde + 1) {
+			throw new AlteracoesDescartadasException(String.valueOf(desde));
+		}
+		List<AlteracaoDTO> alteracoes = registroAlteracaoRepository.listarDTOsAposPosicao(desde,
+				PageRequest.of(0, tamanho + 1));
+		String proximoCursor = null;
+		if (alteracoes.size() > tamanho) {
+			alteracoes = alteracoes.subList(0, tamanho);
+			proximoCursor = String.valueOf(alteracoes.get(tamanho - 1).posicao());
+		}
+		return new Pagina<>(alteracoes, proximoCursor);
+	}
+
+}
@@ -0,0 +1,76 @@
+package com.example.apipessoas.service;
+
+import com.example.apipessoas.event.PessoaRemovidaEvento;
+import com.example.apipessoas.event.PessoaSalvaEvento;
+import com.example.apipessoas.repository.PessoaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AtualizadorIndiceNomes {
+
+	static final int TAMANHO_PARTICAO = 10_000;
+
+	private final IndiceNomesPessoas indice;
+
+	private final PessoaRepository pessoaRepository;
+
+	@TransactionalEventListener
+	public void aoSalvarPessoa(PessoaSalvaEvento evento) {
+		indice.indexar(evento.id(), evento.nome());
+	}
+
+	@TransactionalEventListener
+	public void aoRemoverPessoa(PessoaRemovidaEvento evento) {
+		indice.remover(evento.id());
+	}
+
+	// Síncrono de propósito: a aplicação só fica pronta para o tráfego com o índice completo
+	@EventListener(ApplicationReadyEvent.class)
+	public void reconstruir() {
+		long inicio = System.nanoTime();
+		indice.iniciarReconstrucao();
+		try {
+			Optional<Long> menorId = pessoaRepository.buscarMenorId();
+			Optional<Long> maiorId = pessoaRepository.buscarMaiorId();
+			if (menorId.isPresent() && maiorId.isPresent()) {
+				carregarEmParalelo(menorId.get(), maiorId.get());
+			}
+		} finally {
+			indice.concluirReconstrucao();
+		}
+		log.info("Índice de nomes reconstruído com {} pessoas em {} ms", indice.tamanho(),
+				TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+	}
+
+	private void carregarEmParalelo(long menorId, long maiorId) {
+		ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+		try {
+			List<CompletableFuture<Void>> particoes = new ArrayList<>();
+			for (long de = menorId; de <= maiorId; de += TAMANHO_PARTICAO) {
+				long primeiro = de;
+				long ultimo = Math.min(de + TAMANHO_PARTICAO - 1, maiorId);
+				particoes.add(CompletableFuture.runAsync(
+						() -> indice.carregar(pessoaRepository.listarNomesEntre(primeiro, ultimo)), executor));
+			}
+			CompletableFuture.allOf(particoes.toArray(CompletableFuture[]::new)).join();
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+}
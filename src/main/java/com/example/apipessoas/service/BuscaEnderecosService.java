@@ -0,0 +1,83 @@
+package com.example.apipessoas.service;
+
+import com.example.apipessoas.dto.EnderecoPessoaDTO;
+import com.example.apipessoas.dto.Pagina;
+import com.example.apipessoas.exception.CursorInvalidoException;
+import com.example.apipessoas.exception.PrefixoCepInvalidoException;
+import com.example.apipessoas.repository.EnderecoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class BuscaEnderecosService {
+
+	private static final Pattern PREFIXO_CEP = Pattern.compile("\\d{1,5}|\\d{5}-?\\d{0,3}");
+
+	private static final int DIGITOS_CEP = 8;
+
+	private final EnderecoRepository enderecoRepository;
+
+	public Pagina<EnderecoPessoaDTO> buscarPorCep(String prefixoCep, String cursor, int tamanho) {
+		if (!PREFIXO_CEP.matcher(prefixoCep).matches()) {
+			throw new PrefixoCepInvalidoException(prefixoCep);
+		}
+		String digitos = prefixoCep.replace("-", "");
+		// Todos os CEPs que começam com o prefixo formam a faixa [prefixo00..., prefixo99...]
+		int escala = (int) Math.pow(10, DIGITOS_CEP - digitos.length());
+		int cepMinimo = Integer.parseInt(digitos) * escala;
+		int cepMaximo = cepMinimo + escala - 1;
+
+		int cepApos = cepMinimo;
+		long idApos = Long.MIN_VALUE;
+		if (cursor != null) {
+			String[] partes = cursor.split(":", -1);
+			try {
+				cepApos = Integer.parseInt(partes[0]);
+				idApos = Long.parseLong(partes[1]);
+			} catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+				throw new CursorInvalidoException(cursor);
+			}
+			if (partes.length != 2 || cepApos < cepMinimo || cepApos > cepMaximo) {
+				throw new CursorInvalidoException(cursor);
+			}
+		}
+		// Busca um registro a mais apenas para saber se existe uma próxima página
+		List<EnderecoPessoaDTO> enderecos = enderecoRepository.listarPorFaixaDeCepApos(cepApos, idApos, cepMaximo,
+				PageRequest.of(0, tamanho + 1));
+		String proximoCursor = null;
+		if (enderecos.size() > tamanho) {
+			enderecos = enderecos.subList(0, tamanho);
+			EnderecoPessoaDTO ultimo = enderecos.get(tamanho - 1);
+			proximoCursor = ultimo.cep().replace("-", "") + ":" + ultimo.id();
+		}
+		return new Pagina<>(enderecos, proximoCursor);
+	}
+
+	public Pagina<EnderecoPessoaDTO> buscarPorCidade(String cidade, String cursor, int tamanho) {
+		long idApos = cursor == null ? Long.MIN_VALUE : decodificarCursorCidade(cursor);
+		List<EnderecoPessoaDTO> enderecos = enderecoRepository.listarPorCidadeAposId(cidade, idApos,
+				PageRequest.of(0, tamanho + 1));
+		String proximoCursor = null;
+		if (enderecos.size() > tamanho) {
+			enderecos = enderecos.subList(0, tamanho);
+			proximoCursor = String.valueOf(enderecos.get(tamanho - 1).id());
+		}
+		return new Pagina<>(enderecos, proximoCursor);
+	}
+
+	private long decodificarCursorCidade(String cursor) {
+		try {
+			return Long.parseLong(cursor);
+		} catch (NumberFormatException e) {
+			throw new CursorInvalidoException(cursor);
+		}
+	}
+
+}
@@ -0,0 +1,45 @@
+package com.example.apipessoas.service;
+
+import com.example.apipessoas.dto.Pagina;
+import com.example.apipessoas.dto.PessoaDTO;
+import com.example.apipessoas.exception.CursorInvalidoException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+// O ranking muda com as alterações, então páginas seguintes podem repetir ou pular algum resultado
+@Service
+@RequiredArgsConstructor
+public class BuscaPessoasService {
+
+	private final IndiceNomesPessoas indice;
+
+	private final PessoaService pessoaService;
+
+	public Pagina<PessoaDTO> buscar(String consulta, String cursor, int tamanho) {
+		int inicio = cursor == null ? 0 : decodificarCursor(cursor);
+		// Busca um resultado a mais apenas para saber se existe uma próxima página
+		List<Long> ids = indice.buscar(consulta, inicio, tamanho + 1);
+		String proximoCursor = null;
+		if (ids.size() > tamanho) {
+			ids = ids.subList(0, tamanho);
+			proximoCursor = String.valueOf(inicio + tamanho);
+		}
+		return new Pagina<>(pessoaService.consultarPessoas(ids), proximoCursor);
+	}
+
+	private int decodificarCursor(String cursor) {
+		int inicio;
+		try {
+			inicio = Integer.parseInt(cursor);
+		} catch (NumberFormatException e) {
+			throw new CursorInvalidoException(cursor);
+		}
+		if (inicio < 0 || inicio > IndiceNomesPessoas.PROFUNDIDADE_MAXIMA) {
+			throw new CursorInvalidoException(cursor);
+		}
+		return inicio;
+	}
+
+}
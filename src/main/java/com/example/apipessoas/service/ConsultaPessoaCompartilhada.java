@@ -0,0 +1,86 @@
+package com.example.apipessoas.service;
+
+import com.example.apipessoas.dto.PessoaDTO;
+import com.example.apipessoas.event.AlteracaoPessoaEvento;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+// Une as consultas simultâneas de uma mesma pessoa numa única ida ao banco
+@Component
+@RequiredArgsConstructor
+public class ConsultaPessoaCompartilhada {
+
+	private final PessoaService pessoaService;
+
+	private final ConcurrentMap<Long, CompletableFuture<PessoaDTO>> consultas = new ConcurrentHashMap<>();
+
+	private final ConcurrentMap<Long, Long> alteracoesRecentes = new ConcurrentHashMap<>();
+
+	@Value("${api-pessoas.consulta-pessoa.validade:1s}")
+	private Duration validade;
+
+	@Value("${api-pessoas.consulta-pessoa.primario-apos-alteracao:5s}")
+	private Duration primarioAposAlteracao;
+
+	public PessoaDTO consultar(Long id) {
+		CompletableFuture<PessoaDTO> consulta = new CompletableFuture<>();
+		CompletableFuture<PessoaDTO> emAndamento = consultas.putIfAbsent(id, consulta);
+		if (emAndamento != null) {
+			return aguardar(emAndamento);
+		}
+		PessoaDTO pessoa;
+		try {
+			pessoa = alteracoesRecentes.containsKey(id)
+					? pessoaService.consultarPessoaNoPrimario(id)
+					: pessoaService.consultarPessoa(id);
+		} catch (Throwable e) {
+			// Erros não são guardados: quem já esperava recebe o mesmo erro, quem chegar depois consulta de novo
+			consultas.remove(id, consulta);
+			consulta.completeExceptionally(e);
+			throw e;
+		}
+		consulta.complete(pessoa);
+		CompletableFuture.delayedExecutor(validade.toNanos(), TimeUnit.NANOSECONDS)
+				.execute(() -> consultas.remove(id, consulta));
+		return pessoa;
+	}
+
+	// Como em consultar, vai ao primário logo depois de uma alteração, para não responder 304 com a versão da réplica
+	public String consultarVersao(Long id) {
+		return alteracoesRecentes.containsKey(id)
+				? pessoaService.consultarVersaoNoPrimario(id)
+				: pessoaService.consultarVersao(id);
+	}
+
+	@TransactionalEventListener
+	public void aoAlterarPessoa(AlteracaoPessoaEvento evento) {
+		Long id = evento.pessoaId();
+		long alteradaEm = System.nanoTime();
+		// Registrada antes do descarte, para que a próxima consulta já vá ao primário
+		alteracoesRecentes.put(id, alteradaEm);
+		consultas.remove(id);
+		CompletableFuture.delayedExecutor(primarioAposAlteracao.toNanos(), TimeUnit.NANOSECONDS)
+				.execute(() -> alteracoesRecentes.remove(id, alteradaEm));
+	}
+
+	private static PessoaDTO aguardar(CompletableFuture<PessoaDTO> consulta) {
+		try {
+			return consulta.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException causa) {
+				throw causa;
+			}
+			throw e;
+		}
+	}
+
+}
@@ -0,0 +1,12 @@
+package com.example.apipessoas.service;
+
+import com.example.apipessoas.dto.AlteracaoDTO;
+
+import java.util.List;
+
+public interface DestinoAlteracoes {
+
+	// Se lançar exceção o lote é reenviado na próxima rodada, então o destino deve tolerar repetições
+	void publicar(List<AlteracaoDTO> alteracoes);
+
+}
@@ -0,0 +1,46 @@
+package com.example.apipessoas.service;
+
+import com.example.apipessoas.dto.AlteracaoDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+@Slf4j
+public class DestinoAlteracoesLocal implements DestinoAlteracoes {
+
+	private final ObjectWriter writer;
+
+	private final Path arquivo;
+
+	public DestinoAlteracoesLocal(ObjectMapper objectMapper, Path arquivo) {
+		this.writer = objectMapper.writer();
+		this.arquivo = arquivo;
+	}
+
+	@Override
+	public void publicar(List<AlteracaoDTO> alteracoes) {
+		if (arquivo == null) {
+			alteracoes.forEach(alteracao -> log.info("Alteração publicada: {}", alteracao));
+			return;
+		}
+		try (Writer saida = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8,
+				StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+			for (AlteracaoDTO alteracao : alteracoes) {
+				saida.write(writer.writeValueAsString(alteracao));
+				saida.write('\n');
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+}
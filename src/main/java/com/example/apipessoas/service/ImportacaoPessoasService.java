@@ -0,0 +1,108 @@
+package com.example.apipessoas.service;
+
+import com.example.apipessoas.dto.ResultadoImportacao;
+import com.example.apipessoas.model.Endereco;
+import com.example.apipessoas.model.Pessoa;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImportacaoPessoasService {
+
+	private final PessoaService pessoaService;
+
+	private final ObjectMapper objectMapper;
+
+	private final Validator validator;
+
+	@Value("${api-pessoas.importacao.tamanho-lote:500}")
+	private int tamanhoLote;
+
+	public void importar(InputStream entrada, Consumer<ResultadoImportacao> relatorio) throws IOException {
+		List<Pessoa> lote = new ArrayList<>(tamanhoLote);
+		List<Long> indices = new ArrayList<>(tamanhoLote);
+		long indice = 0;
+
+		try (MappingIterator<Pessoa> pessoas = objectMapper.readerFor(Pessoa.class).readValues(entrada)) {
+			while (pessoas.hasNextValue()) {
+				Pessoa pessoa;
+				try {
+					pessoa = pessoas.nextValue();
+				} catch (DatabindException e) {
+					// Item bem formado mas incompatível com Pessoa; o iterador se ressincroniza no próximo item
+					relatorio.accept(ResultadoImportacao.rejeitado(indice++, e.getOriginalMessage()));
+					continue;
+				}
+
+				List<String> erros = validar(pessoa);
+				if (!erros.isEmpty()) {
+					relatorio.accept(ResultadoImportacao.rejeitado(indice++, erros));
+					continue;
+				}
+
+				lote.add(pessoa);
+				indices.add(indice++);
+				if (lote.size() == tamanhoLote) {
+					salvarLote(lote, indices, relatorio);
+				}
+			}
+		} catch (JsonProcessingException e) {
+			// JSON malformado: não há como localizar o próximo item, então a importação termina aqui
+			salvarLote(lote, indices, relatorio);
+			relatorio.accept(ResultadoImportacao.rejeitado(indice, e.getOriginalMessage()));
+			return;
+		}
+		salvarLote(lote, indices, relatorio);
+	}
+
+	private void salvarLote(List<Pessoa> lote, List<Long> indices, Consumer<ResultadoImportacao> relatorio) {
+		if (lote.isEmpty()) {
+			return;
+		}
+		try {
+			List<Pessoa> salvas = pessoaService.salvarTodas(lote);
+			for (int i = 0; i < salvas.size(); i++) {
+				relatorio.accept(ResultadoImportacao.importado(indices.get(i), salvas.get(i).getId()));
+			}
+		} catch (RuntimeException e) {
+			log.warn("Falha ao salvar lote de {} pessoas a partir do item {}", lote.size(), indices.get(0), e);
+			indices.forEach(indice -> relatorio.accept(ResultadoImportacao.rejeitado(indice, "Falha ao salvar o lote: " + e.getMessage())));
+		}
+		lote.clear();
+		indices.clear();
+	}
+
+	private List<String> validar(Pessoa pessoa) {
+		List<String> erros = new ArrayList<>();
+		validator.validate(pessoa).forEach(violacao -> erros.add(descrever("", violacao)));
+		if (pessoa.getEnderecos() != null) {
+			int i = 0;
+			for (Endereco endereco : pessoa.getEnderecos()) {
+				String prefixo = "enderecos[" + i++ + "].";
+				validator.validate(endereco).forEach(violacao -> erros.add(descrever(prefixo, violacao)));
+			}
+		}
+		return erros;
+	}
+
+	private static String descrever(String prefixo, ConstraintViolation<?> violacao) {
+		return prefixo + violacao.getPropertyPath() + ": " + violacao.getMessage();
+	}
+
+}
@@ -0,0 +1,312 @@
+package com.example.apipessoas.service;
+
+import com.example.apipessoas.repository.NomePessoa;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+// Termos num mapa ordenado, para que os que começam com um prefixo formem uma faixa contígua
+@Component
+public class IndiceNomesPessoas {
+
+	public static final int PROFUNDIDADE_MAXIMA = 10_000;
+
+	private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+
+	private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+	private static final Comparator<Candidato> ORDEM = Comparator.comparingInt(Candidato::exatos).reversed()
+			.thenComparingInt(Candidato::comprimento)
+			.thenComparingLong(Candidato::id);
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private final NavigableMap<String, NavigableSet<Posicao>> pessoasPorTermo = new TreeMap<>();
+
+	private final Map<Long, Entrada> entradas = new HashMap<>();
+
+	// Ids alterados durante uma reconstrução, que a carga do banco não deve sobrescrever; null fora dela
+	private Set<Long> alteradosDuranteReconstrucao;
+
+	public void indexar(Long id, String nome) {
+		Entrada entrada = Entrada.de(nome);
+		lock.writeLock().lock();
+		try {
+			if (alteradosDuranteReconstrucao != null) {
+				alteradosDuranteReconstrucao.add(id);
+			}
+			substituir(id, entrada);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void remover(Long id) {
+		lock.writeLock().lock();
+		try {
+			if (alteradosDuranteReconstrucao != null) {
+				alteradosDuranteReconstrucao.add(id);
+			}
+			removerEntrada(id);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void iniciarReconstrucao() {
+		lock.writeLock().lock();
+		try {
+			pessoasPorTermo.clear();
+			entradas.clear();
+			alteradosDuranteReconstrucao = new HashSet<>();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void carregar(List<NomePessoa> pessoas) {
+		// A normalização, que é a parte cara, fica fora do lock para que as cargas rodem de fato em paralelo
+		Map<Long, Entrada> lote = new HashMap<>();
+		pessoas.forEach(pessoa -> lote.put(pessoa.id(), Entrada.de(pessoa.nome())));
+		lock.writeLock().lock();
+		try {
+			lote.forEach((id, entrada) -> {
+				if (alteradosDuranteReconstrucao == null || !alteradosDuranteReconstrucao.contains(id)) {
+					substituir(id, entrada);
+				}
+			});
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void concluirReconstrucao() {
+		lock.writeLock().lock();
+		try {
+			alteradosDuranteReconstrucao = null;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public int tamanho() {
+		lock.readLock().lock();
+		try {
+			return entradas.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public List<Long> buscar(String consulta, int inicio, int quantidade) {
+		String[] termosConsulta = termos(consulta);
+		if (termosConsulta.length == 0 || quantidade <= 0 || inicio >= PROFUNDIDADE_MAXIMA) {
+			return List.of();
+		}
+		int limite = (int) Math.min((long) inicio + quantidade, PROFUNDIDADE_MAXIMA);
+		// Mantém só os "limite" melhores, com o pior no topo para ser descartado primeiro
+		PriorityQueue<Candidato> melhores = new PriorityQueue<>(ORDEM.reversed());
+
+		lock.readLock().lock();
+		try {
+			// Os candidatos vêm do termo da consulta com menos ocorrências; os demais termos são conferidos nos
+			// termos de cada candidato, sem intersecção de conjuntos
+			String guia = termoMaisSeletivo(termosConsulta);
+			// Primeiro as pessoas que têm o guia como termo inteiro, depois as que só têm termos que começam com ele
+			NavigableSet<Posicao> exatas = pessoasPorTermo.getOrDefault(guia, Collections.emptyNavigableSet());
+			avaliar(exatas.stream().map(posicao -> Map.entry(guia, posicao)).iterator(),
+					guia, termosConsulta, termosConsulta.length, limite, melhores);
+			avaliar(new Intercalacao(pessoasPorTermo.subMap(guia, false, guia + Character.MAX_VALUE, false)),
+					guia, termosConsulta, termosConsulta.length - 1, limite, melhores);
+		} finally {
+			lock.readLock().unlock();
+		}
+
+		List<Candidato> ordenados = new ArrayList<>(melhores);
+		ordenados.sort(ORDEM);
+		return ordenados.subList(Math.min(inicio, ordenados.size()), ordenados.size()).stream()
+				.map(Candidato::id)
+				.toList();
+	}
+
+	static String[] termos(String texto) {
+		String semAcentos = MARCAS_DIACRITICAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+		return SEPARADORES.splitAsStream(semAcentos.toLowerCase(Locale.ROOT))
+				.filter(Predicate.not(String::isEmpty))
+				.distinct()
+				.toArray(String[]::new);
+	}
+
+	private void avaliar(Iterator<Map.Entry<String, Posicao>> posicoes, String guia, String[] termosConsulta,
+			int maximoExatos, int limite, PriorityQueue<Candidato> melhores) {
+		while (posicoes.hasNext()) {
+			Map.Entry<String, Posicao> atual = posicoes.next();
+			Posicao posicao = atual.getValue();
+			// As seguintes não têm nome mais curto; se nem no melhor caso superam o pior já aceito, não há o que ver
+			if (melhores.size() == limite
+					&& ORDEM.compare(new Candidato(posicao.id(), maximoExatos, posicao.comprimento()), melhores.peek()) >= 0) {
+				return;
+			}
+			Entrada entrada = entradas.get(posicao.id());
+			// A pessoa aparece sob cada termo do seu nome que começa com o guia; é avaliada só no primeiro
+			if (!atual.getKey().equals(entrada.primeiroTermoComPrefixo(guia))) {
+				continue;
+			}
+			int exatos = entrada.termosExatos(termosConsulta);
+			if (exatos < 0) {
+				continue;
+			}
+			melhores.offer(new Candidato(posicao.id(), exatos, posicao.comprimento()));
+			if (melhores.size() > limite) {
+				melhores.poll();
+			}
+		}
+	}
+
+	// Os termos mais longos, em geral mais seletivos, são contados primeiro para que os demais parem cedo
+	private String termoMaisSeletivo(String[] termosConsulta) {
+		String[] porComprimento = termosConsulta.clone();
+		Arrays.sort(porComprimento, Comparator.comparingInt(String::length).reversed());
+		String guia = null;
+		long menor = Long.MAX_VALUE;
+		for (String termo : porComprimento) {
+			long ocorrencias = 0;
+			for (Set<Posicao> pessoas : pessoasPorTermo.subMap(termo, true, termo + Character.MAX_VALUE, false).values()) {
+				ocorrencias += pessoas.size();
+				if (ocorrencias >= menor) {
+					break;
+				}
+			}
+			if (ocorrencias < menor) {
+				menor = ocorrencias;
+				guia = termo;
+			}
+		}
+		return guia;
+	}
+
+	private void substituir(Long id, Entrada entrada) {
+		removerEntrada(id);
+		entradas.put(id, entrada);
+		Posicao posicao = new Posicao(entrada.comprimento(), id);
+		for (String termo : entrada.termos()) {
+			pessoasPorTermo.computeIfAbsent(termo, t -> new TreeSet<>()).add(posicao);
+		}
+	}
+
+	private void removerEntrada(Long id) {
+		Entrada anterior = entradas.remove(id);
+		if (anterior == null) {
+			return;
+		}
+		Posicao posicao = new Posicao(anterior.comprimento(), id);
+		for (String termo : anterior.termos()) {
+			Set<Posicao> pessoas = pessoasPorTermo.get(termo);
+			pessoas.remove(posicao);
+			if (pessoas.isEmpty()) {
+				pessoasPorTermo.remove(termo);
+			}
+		}
+	}
+
+	// Em ordem alfabética, para que entre os que começam com um prefixo o primeiro seja o mais curto
+	private record Entrada(String[] termos, int comprimento) {
+
+		static Entrada de(String nome) {
+			String[] termos = IndiceNomesPessoas.termos(nome);
+			Arrays.sort(termos);
+			return new Entrada(termos, nome.length());
+		}
+
+		String primeiroTermoComPrefixo(String prefixo) {
+			for (String termo : termos) {
+				if (termo.startsWith(prefixo)) {
+					return termo;
+				}
+			}
+			return null;
+		}
+
+		// -1 se algum termo da consulta não for prefixo de nenhum termo do nome
+		int termosExatos(String[] termosConsulta) {
+			int exatos = 0;
+			for (String termoConsulta : termosConsulta) {
+				String termo = primeiroTermoComPrefixo(termoConsulta);
+				if (termo == null) {
+					return -1;
+				}
+				if (termo.length() == termoConsulta.length()) {
+					exatos++;
+				}
+			}
+			return exatos;
+		}
+
+	}
+
+	private record Candidato(long id, int exatos, int comprimento) {
+
+	}
+
+	private record Posicao(int comprimento, long id) implements Comparable<Posicao> {
+
+		@Override
+		public int compareTo(Posicao outra) {
+			int porComprimento = Integer.compare(comprimento, outra.comprimento);
+			return porComprimento != 0 ? porComprimento : Long.compare(id, outra.id);
+		}
+
+	}
+
+	private static class Intercalacao implements Iterator<Map.Entry<String, Posicao>> {
+
+		private final PriorityQueue<Cabeca> cabecas = new PriorityQueue<>(Comparator.comparing(Cabeca::posicao));
+
+		Intercalacao(Map<String, NavigableSet<Posicao>> pessoasPorTermo) {
+			pessoasPorTermo.forEach((termo, pessoas) -> {
+				Iterator<Posicao> restantes = pessoas.iterator();
+				cabecas.add(new Cabeca(termo, restantes.next(), restantes));
+			});
+		}
+
+		@Override
+		public boolean hasNext() {
+			return !cabecas.isEmpty();
+		}
+
+		@Override
+		public Map.Entry<String, Posicao> next() {
+			Cabeca cabeca = cabecas.poll();
+			if (cabeca.restantes().hasNext()) {
+				cabecas.add(new Cabeca(cabeca.termo(), cabeca.restantes().next(), cabeca.restantes()));
+			}
+			return Map.entry(cabeca.termo(), cabeca.posicao());
+		}
+
+		private record Cabeca(String termo, Posicao posicao, Iterator<Posicao> restantes) {
+
+		}
+
+	}
+
+}
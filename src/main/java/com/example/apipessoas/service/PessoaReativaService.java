@@ -0,0 +1,125 @@
+package com.example.apipessoas.service;
+
+import com.example.apipessoas.config.ReativoConfig;
+import com.example.apipessoas.dto.EnderecoDTO;
+import com.example.apipessoas.dto.Pagina;
+import com.example.apipessoas.dto.PessoaDTO;
+import com.example.apipessoas.exception.EnderecoNaoEncontradoException;
+import com.example.apipessoas.exception.EnderecoNaoPertenceAPessoaException;
+import com.example.apipessoas.exception.EntidadeNaoEncontradaException;
+import com.example.apipessoas.exception.PessoaNaoEncontradaException;
+import com.example.apipessoas.model.Pessoa;
+import com.example.apipessoas.repository.EnderecoReativoRepository;
+import com.example.apipessoas.repository.LinhaEndereco;
+import com.example.apipessoas.repository.LinhaPessoa;
+import com.example.apipessoas.repository.PessoaReativaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Profile(ReativoConfig.PERFIL)
+@RequiredArgsConstructor
+public class PessoaReativaService {
+
+	private final PessoaReativaRepository pessoaReativaRepository;
+
+	private final EnderecoReativoRepository enderecoReativoRepository;
+
+	public Mono<Pagina<PessoaDTO>> listarPessoas(String cursor, int tamanho) {
+		long ultimoId = cursor == null ? Long.MIN_VALUE : PessoaService.decodificarCursor(cursor);
+		// Busca um registro a mais apenas para saber se existe uma próxima página
+		return lerPagina(ultimoId, tamanho + 1).map(pessoas -> {
+			if (pessoas.size() <= tamanho) {
+				return new Pagina<>(pessoas, null);
+			}
+			List<PessoaDTO> conteudo = pessoas.subList(0, tamanho);
+			return new Pagina<>(conteudo, String.valueOf(conteudo.get(tamanho - 1).id()));
+		});
+	}
+
+	// A página seguinte só é consultada quando a anterior foi consumida, sem prender conexão entre elas
+	public Flux<PessoaDTO> transmitirPessoas() {
+		int tamanho = Pessoa.TAMANHO_LOTE_ENDERECOS;
+		return lerPagina(Long.MIN_VALUE, tamanho)
+				.expand(pessoas -> pessoas.size() < tamanho
+						? Mono.empty()
+						: lerPagina(pessoas.get(tamanho - 1).id(), tamanho))
+				.concatMapIterable(Function.identity(), 1);
+	}
+
+	public Mono<PessoaDTO> consultarPessoa(Long id) {
+		return pessoaReativaRepository.findById(id)
+				.switchIfEmpty(Mono.error(() -> new PessoaNaoEncontradaException(id)))
+				.flatMap(pessoa -> enderecoReativoRepository.findByPessoaIdOrderById(id)
+						.map(LinhaEndereco::paraDTO)
+						.collectList()
+						.map(enderecos -> pessoa.paraDTO().comEnderecos(enderecos)));
+	}
+
+	public Mono<String> consultarVersao(Long pessoaId) {
+		return pessoaReativaRepository.buscarVersao(pessoaId)
+				.map(versao -> Pessoa.versaoComEnderecos(versao.versao(), versao.somaVersoesEnderecos()))
+				.switchIfEmpty(Mono.error(() -> new PessoaNaoEncontradaException(pessoaId)));
+	}
+
+	public Mono<String> consultarVersaoEndereco(Long pessoaId, Long enderecoId) {
+		return enderecoReativoRepository.buscarVersao(enderecoId, pessoaId)
+				.map(String::valueOf)
+				.switchIfEmpty(enderecoNaoEncontrado(pessoaId, enderecoId));
+	}
+
+	public Mono<List<EnderecoDTO>> consultarEnderecos(Long pessoaId) {
+		return enderecoReativoRepository.findByPessoaIdOrderById(pessoaId)
+				.map(LinhaEndereco::paraDTO)
+				.collectList()
+				// Lista vazia é ambígua; só então vale a consulta extra para distinguir pessoa inexistente
+				.filterWhen(enderecos -> enderecos.isEmpty()
+						? pessoaReativaRepository.existsById(pessoaId)
+						: Mono.just(true))
+				.switchIfEmpty(Mono.error(() -> new PessoaNaoEncontradaException(pessoaId)));
+	}
+
+	public Mono<EnderecoDTO> consultarEndereco(Long pessoaId, Long enderecoId) {
+		return enderecoReativoRepository.findByIdAndPessoaId(enderecoId, pessoaId)
+				.map(LinhaEndereco::paraDTO)
+				.switchIfEmpty(enderecoNaoEncontrado(pessoaId, enderecoId));
+	}
+
+	private <T> Mono<T> enderecoNaoEncontrado(Long pessoaId, Long enderecoId) {
+		Mono<EntidadeNaoEncontradaException> erro = Mono.defer(() -> pessoaReativaRepository.existsById(pessoaId))
+				.flatMap(pessoaExiste -> !pessoaExiste
+						? Mono.just(new PessoaNaoEncontradaException(pessoaId))
+						: enderecoReativoRepository.existsById(enderecoId).map(enderecoExiste -> enderecoExiste
+								? new EnderecoNaoPertenceAPessoaException(enderecoId)
+								: new EnderecoNaoEncontradoException(enderecoId)));
+		return erro.flatMap(Mono::error);
+	}
+
+	private Mono<List<PessoaDTO>> lerPagina(long ultimoId, int tamanho) {
+		return pessoaReativaRepository.listarAposId(ultimoId, tamanho)
+				.map(LinhaPessoa::paraDTO)
+				.collectList()
+				.flatMap(this::comEnderecos);
+	}
+
+	private Mono<List<PessoaDTO>> comEnderecos(List<PessoaDTO> pessoas) {
+		if (pessoas.isEmpty()) {
+			return Mono.just(pessoas);
+		}
+		return enderecoReativoRepository
+				.findByPessoaIdInOrderByPessoaIdAscIdAsc(pessoas.stream().map(PessoaDTO::id).toList())
+				.map(LinhaEndereco::paraDTO)
+				.collect(Collectors.groupingBy(EnderecoDTO::pessoaId))
+				.map(enderecosPorPessoa -> pessoas.stream()
+						.map(pessoa -> pessoa.comEnderecos(enderecosPorPessoa.getOrDefault(pessoa.id(), List.of())))
+						.toList());
+	}
+
+}
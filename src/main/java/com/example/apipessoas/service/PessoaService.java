@@ -1,31 +1,162 @@
 package com.example.apipessoas.service;
 
+import com.example.apipessoas.dto.AlteracaoEndereco;
+import com.example.apipessoas.dto.AlteracaoPessoa;
+import com.example.apipessoas.dto.EnderecoDTO;
+import com.example.apipessoas.dto.LoteEnderecos;
+import com.example.apipessoas.dto.Pagina;
+import com.example.apipessoas.dto.PessoaDTO;
+import com.example.apipessoas.event.AlteracaoPessoaEvento;
+import com.example.apipessoas.event.PessoaRemovidaEvento;
+import com.example.apipessoas.event.PessoaSalvaEvento;
+import com.example.apipessoas.event.TipoAlteracao;
+import com.example.apipessoas.exception.CursorInvalidoException;
 import com.example.apipessoas.exception.EnderecoNaoEncontradoException;
 import com.example.apipessoas.exception.EnderecoNaoPertenceAPessoaException;
+import com.example.apipessoas.exception.EntidadeNaoEncontradaException;
+import com.example.apipessoas.exception.LoteEnderecosInvalidoException;
 import com.example.apipessoas.exception.PessoaNaoEncontradaException;
+import com.example.apipessoas.exception.VersaoDesatualizadaException;
 import com.example.apipessoas.model.Endereco;
 import com.example.apipessoas.model.Pessoa;
+import com.example.apipessoas.model.ResumoEndereco;
 import com.example.apipessoas.repository.EnderecoRepository;
+import com.example.apipessoas.repository.LinhaPessoaEndereco;
 import com.example.apipessoas.repository.PessoaRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.BeanUtils;
+import org.hibernate.CacheMode;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
+@Timed(value = PessoaService.METRICA, description = "Operações de PessoaService, por método e exceção lançada")
 @RequiredArgsConstructor
 public class PessoaService {
 
+	public static final String METRICA = "pessoas.servico";
+
 	private final PessoaRepository pessoaRepository;
 
 	private final EnderecoRepository enderecoRepository;
 
-	public List<Pessoa> listarPessoas() {
-		return pessoaRepository.findAll();
+	private final EntityManager entityManager;
+
+	private final ApplicationEventPublisher eventPublisher;
+
+	@Transactional(readOnly = true)
+	public Pagina<PessoaDTO> listarPessoas(String cursor, int tamanho) {
+		long ultimoId = cursor == null ? Long.MIN_VALUE : decodificarCursor(cursor);
+		// Busca um registro a mais apenas para saber se existe uma próxima página
+		List<PessoaDTO> pessoas = pessoaRepository.listarDTOsAposId(ultimoId, PageRequest.of(0, tamanho + 1));
+		String proximoCursor = null;
+		if (pessoas.size() > tamanho) {
+			pessoas = pessoas.subList(0, tamanho);
+			proximoCursor = String.valueOf(pessoas.get(tamanho - 1).id());
+		}
+		return new Pagina<>(comEnderecos(pessoas), proximoCursor);
+	}
+
+	@Transactional(readOnly = true)
+	public PessoaDTO consultarPessoa(Long id) {
+		List<LinhaPessoaEndereco> linhas = pessoaRepository.listarLinhasComEnderecos(id);
+		if (linhas.isEmpty()) {
+			throw new PessoaNaoEncontradaException(id);
+		}
+		LinhaPessoaEndereco pessoa = linhas.get(0);
+		List<EnderecoDTO> enderecos = linhas.stream()
+				.filter(linha -> linha.enderecoId() != null)
+				.map(linha -> new EnderecoDTO(linha.enderecoId(), linha.pessoaId(), linha.logradouro(), linha.cep(),
+						linha.numero(), linha.cidade(), linha.enderecoVersao()))
+				.toList();
+		EnderecoDTO enderecoPrincipal = enderecos.stream()
+				.filter(endereco -> endereco.id().equals(pessoa.enderecoPrincipalId()))
+				.findFirst()
+				.orElse(null);
+		return new PessoaDTO(pessoa.pessoaId(), pessoa.nome(), pessoa.dataNascimento(), enderecos, enderecoPrincipal,
+				pessoa.versao());
+	}
+
+	// Transação de escrita: com a réplica configurada a consulta vai ao primário, que já tem a alteração recente
+	public PessoaDTO consultarPessoaNoPrimario(Long id) {
+		return consultarPessoa(id);
+	}
+
+	@Transactional(readOnly = true)
+	public List<PessoaDTO> consultarPessoas(List<Long> ids) {
+		if (ids.isEmpty()) {
+			return List.of();
+		}
+		Map<Long, PessoaDTO> pessoasPorId = pessoaRepository.listarDTOsPorIds(ids).stream()
+				.collect(Collectors.toMap(PessoaDTO::id, Function.identity()));
+		return comEnderecos(ids.stream().map(pessoasPorId::get).filter(Objects::nonNull).toList());
+	}
+
+	@Transactional(readOnly = true)
+	public String consultarVersao(Long pessoaId) {
+		return pessoaRepository.buscarVersao(pessoaId)
+				.map(versao -> Pessoa.versaoComEnderecos(versao.versao(), versao.somaVersoesEnderecos()))
+				.orElseThrow(() -> new PessoaNaoEncontradaException(pessoaId));
+	}
+
+	// Ver consultarPessoaNoPrimario
+	public String consultarVersaoNoPrimario(Long pessoaId) {
+		return consultarVersao(pessoaId);
+	}
+
+	@Transactional(readOnly = true)
+	public String consultarVersaoEndereco(Long pessoaId, Long enderecoId) {
+		return enderecoRepository.buscarVersao(enderecoId, pessoaId)
+				.map(String::valueOf)
+				.orElseThrow(() -> enderecoNaoEncontrado(pessoaId, enderecoId));
+	}
+
+	@Transactional(readOnly = true)
+	public List<EnderecoDTO> consultarEnderecos(Long pessoaId) {
+		List<EnderecoDTO> enderecos = enderecoRepository.listarDTOsPorPessoa(pessoaId);
+		// Lista vazia é ambígua; só então vale a consulta extra para distinguir pessoa inexistente
+		if (enderecos.isEmpty() && !pessoaRepository.existsById(pessoaId)) {
+			throw new PessoaNaoEncontradaException(pessoaId);
+		}
+		return enderecos;
+	}
+
+	@Transactional(readOnly = true)
+	public EnderecoDTO consultarEndereco(Long pessoaId, Long enderecoId) {
+		return enderecoRepository.buscarDTO(enderecoId, pessoaId)
+				.orElseThrow(() -> enderecoNaoEncontrado(pessoaId, enderecoId));
+	}
+
+	// Desanexa cada lote após o uso para a memória não crescer com a tabela
+	@Transactional(readOnly = true)
+	public void transmitirPessoas(Consumer<Pessoa> consumidor) {
+		List<Pessoa> lote = new ArrayList<>(Pessoa.TAMANHO_LOTE_ENDERECOS);
+		try (Stream<Pessoa> pessoas = pessoaRepository.streamAll()) {
+			pessoas.forEach(pessoa -> {
+				lote.add(pessoa);
+				if (lote.size() == Pessoa.TAMANHO_LOTE_ENDERECOS) {
+					entregarLote(lote, consumidor);
+				}
+			});
+		}
+		entregarLote(lote, consumidor);
 	}
 
 	public Pessoa salvar(Pessoa pessoa) {
@@ -33,88 +164,293 @@ public class PessoaService {
 				.nome(pessoa.getNome())
 				.dataNascimento(pessoa.getDataNascimento())
 				.build();
-		return pessoaRepository.save(pessoaASalvar);
+		Pessoa pessoaSalva = pessoaRepository.save(pessoaASalvar);
+		eventPublisher.publishEvent(new PessoaSalvaEvento(pessoaSalva.getId(), pessoaSalva.getNome()));
+		eventPublisher.publishEvent(AlteracaoPessoaEvento.daPessoa(TipoAlteracao.PESSOA_CRIADA, pessoaSalva.getId()));
+		return pessoaSalva;
+	}
+
+	public List<Pessoa> salvarTodas(List<Pessoa> pessoas) {
+		Session session = entityManager.unwrap(Session.class);
+		CacheMode cacheModeAnterior = session.getCacheMode();
+		// Registros recém-importados raramente são lidos logo em seguida; não vale ocupar o cache com eles
+		session.setCacheMode(CacheMode.IGNORE);
+		try {
+			List<Pessoa> salvas = new ArrayList<>(pessoas.size());
+			for (Pessoa pessoa : pessoas) {
+				Pessoa pessoaASalvar = Pessoa.builder()
+						.nome(pessoa.getNome())
+						.dataNascimento(pessoa.getDataNascimento())
+						.build();
+				pessoa.getEnderecos().forEach(endereco -> pessoaASalvar.getEnderecos().add(endereco.withId(null)));
+				entityManager.persist(pessoaASalvar);
+				pessoaASalvar.getEnderecos().forEach(endereco -> endereco.setPessoaId(pessoaASalvar.getId()));
+				pessoaASalvar.setEnderecoPrincipal(pessoaASalvar.primeiroEndereco());
+				salvas.add(pessoaASalvar);
+				eventPublisher.publishEvent(new PessoaSalvaEvento(pessoaASalvar.getId(), pessoaASalvar.getNome()));
+				eventPublisher.publishEvent(
+						AlteracaoPessoaEvento.daPessoa(TipoAlteracao.PESSOA_CRIADA, pessoaASalvar.getId()));
+			}
+			entityManager.flush();
+			entityManager.clear();
+			return salvas;
+		} finally {
+			session.setCacheMode(cacheModeAnterior);
+		}
 	}
 
 	public Pessoa atualizar(Long id, Pessoa pessoa) {
+		return atualizar(id, pessoa, null);
+	}
+
+	public Pessoa atualizar(Long id, Pessoa pessoa, Set<String> versoesEsperadas) {
+		return alterar(id, AlteracaoPessoa.de(pessoa), versoesEsperadas);
+	}
+
+	public Pessoa alterar(Long id, AlteracaoPessoa alteracao, Set<String> versoesEsperadas) {
 		Pessoa pessoaSalva = buscarPessoaPorId(id);
-		BeanUtils.copyProperties(pessoa, pessoaSalva, "id", "enderecos", "enderecoPrincipal");
-		return pessoaRepository.save(pessoaSalva);
+		verificarVersao(versoesEsperadas, pessoaSalva.versaoComEnderecos());
+		if (!alteracao.aplicarEm(pessoaSalva)) {
+			return pessoaSalva;
+		}
+		Pessoa pessoaAtualizada = pessoaRepository.save(pessoaSalva);
+		eventPublisher.publishEvent(new PessoaSalvaEvento(pessoaAtualizada.getId(), pessoaAtualizada.getNome()));
+		eventPublisher.publishEvent(AlteracaoPessoaEvento.daPessoa(TipoAlteracao.PESSOA_ALTERADA, id));
+		return pessoaAtualizada;
 	}
 
 	public void remover(Long pessoaId) {
-		if (!pessoaRepository.existsById(pessoaId)) {
+		remover(pessoaId, null);
+	}
+
+	public void remover(Long pessoaId, Set<String> versoesEsperadas) {
+		if (versoesEsperadas != null) {
+			verificarVersao(versoesEsperadas, consultarVersao(pessoaId));
+		} else if (!pessoaRepository.existsById(pessoaId)) {
 			throw new PessoaNaoEncontradaException(pessoaId);
 		}
 		pessoaRepository.deleteById(pessoaId);
+		eventPublisher.publishEvent(new PessoaRemovidaEvento(pessoaId));
+		eventPublisher.publishEvent(AlteracaoPessoaEvento.daPessoa(TipoAlteracao.PESSOA_REMOVIDA, pessoaId));
 	}
 
+	@Transactional(readOnly = true)
 	public Pessoa buscarPessoaPorId(Long id) {
-		return pessoaRepository.findById(id)
+		Pessoa pessoa = pessoaRepository.findById(id)
 				.orElseThrow(() -> new PessoaNaoEncontradaException(id));
+		// Quando a pessoa vem do cache de segundo nível o entity graph não é aplicado; a coleção é então
+		// inicializada a partir da sua própria região de cache, sem ir ao banco se já estiver lá
+		Hibernate.initialize(pessoa.getEnderecos());
+		return pessoa;
 	}
 
+	@Transactional(readOnly = true)
 	public List<Endereco> listarEnderecos(Long pessoaId) {
 		Pessoa pessoa = buscarPessoaPorId(pessoaId);
-		return Collections.unmodifiableList(pessoa.getEnderecos());
+		return List.copyOf(pessoa.getEnderecos());
 	}
 
 	public Endereco adicionarEndereco(Long pessoaId, Endereco endereco) {
-		Pessoa pessoa = buscarPessoaPorId(pessoaId);
+		Pessoa pessoa = buscarPessoaParaAlteracao(pessoaId);
 		endereco.setId(null);
+		endereco.setPessoaId(pessoaId);
 		pessoa.getEnderecos().add(endereco);
 		enderecoRepository.save(endereco);
 		if (pessoa.getEnderecoPrincipal() == null) {
 			pessoa.setEnderecoPrincipal(endereco);
 			pessoaRepository.save(pessoa);
 		}
+		eventPublisher.publishEvent(
+				new AlteracaoPessoaEvento(TipoAlteracao.ENDERECO_ADICIONADO, pessoaId, endereco.getId()));
 		return endereco;
 	}
 
 	public void removerEndereco(Long pessoaId, Long enderecoId) {
-		Pessoa pessoa = buscarPessoaPorId(pessoaId);
-		Endereco endereco = enderecoRepository.findById(enderecoId)
-				.orElseThrow(() -> new EnderecoNaoEncontradoException(enderecoId));
-		if (!pessoa.getEnderecos().contains(endereco)) {
-			throw new EnderecoNaoPertenceAPessoaException(enderecoId);
-		}
-		if (pessoa.getEnderecoPrincipal().equals(endereco)) {
-			pessoa.setEnderecoPrincipal(null);
-		}
+		Pessoa pessoa = buscarPessoaParaAlteracao(pessoaId);
+		Endereco endereco = pessoa.getEnderecos().stream()
+				.filter(enderecoDaPessoa -> enderecoDaPessoa.getId().equals(enderecoId))
+				.findFirst()
+				.orElseThrow(() -> enderecoNaoEncontrado(pessoaId, enderecoId));
 		pessoa.getEnderecos().remove(endereco);
-		if (!pessoa.getEnderecos().isEmpty()) {
-			pessoa.setEnderecoPrincipal(pessoa.getEnderecos().get(0));
+		Endereco principal = pessoa.getEnderecoPrincipal();
+		if (principal == null || principal.getId().equals(enderecoId)) {
+			pessoa.setEnderecoPrincipal(pessoa.primeiroEndereco());
 		}
 		enderecoRepository.delete(endereco);
+		eventPublisher.publishEvent(new AlteracaoPessoaEvento(TipoAlteracao.ENDERECO_REMOVIDO, pessoaId, enderecoId));
 	}
 
 	public Endereco definirEnderecoPrincipal(Long pessoaId, Long enderecoId) {
-		Pessoa pessoa = buscarPessoaPorId(pessoaId);
-		List<Endereco> enderecos = pessoa.getEnderecos();
-		Endereco novoEnderecoPrincipal = enderecos.stream()
+		Pessoa pessoa = buscarPessoaParaAlteracao(pessoaId);
+		Endereco novoEnderecoPrincipal = pessoa.getEnderecos().stream()
 				.filter(endereco -> endereco.getId().equals(enderecoId))
 				.findFirst()
 				.orElseThrow(() -> new EnderecoNaoEncontradoException(enderecoId));
 
 		pessoa.setEnderecoPrincipal(novoEnderecoPrincipal);
 		pessoaRepository.save(pessoa);
+		eventPublisher.publishEvent(
+				new AlteracaoPessoaEvento(TipoAlteracao.ENDERECO_PRINCIPAL_DEFINIDO, pessoaId, enderecoId));
 		return novoEnderecoPrincipal;
 	}
 
 	public Endereco atualizarEndereco(Long pessoaId, Long enderecoId, Endereco endereco) {
+		return atualizarEndereco(pessoaId, enderecoId, endereco, null);
+	}
+
+	public Endereco atualizarEndereco(Long pessoaId, Long enderecoId, Endereco endereco,
+			Set<String> versoesEsperadas) {
+		return alterarEndereco(pessoaId, enderecoId, AlteracaoEndereco.de(endereco), versoesEsperadas);
+	}
+
+	public Endereco alterarEndereco(Long pessoaId, Long enderecoId, AlteracaoEndereco alteracao,
+			Set<String> versoesEsperadas) {
 		Endereco enderecoEncontrado = buscarEndereco(pessoaId, enderecoId);
-		BeanUtils.copyProperties(endereco, enderecoEncontrado, "id");
-		return enderecoRepository.save(enderecoEncontrado);
+		verificarVersao(versoesEsperadas, String.valueOf(enderecoEncontrado.getVersao()));
+		ResumoEndereco resumoAnterior = ResumoEndereco.de(enderecoEncontrado);
+		if (!alteracao.aplicarEm(enderecoEncontrado)) {
+			return enderecoEncontrado;
+		}
+		Endereco enderecoAtualizado = enderecoRepository.save(enderecoEncontrado);
+		if (!resumoAnterior.equals(ResumoEndereco.de(enderecoEncontrado))) {
+			// Só então a pessoa é carregada, sem os endereços, para manter o resumo em dia se este for o principal
+			pessoaRepository.buscarParaAlteracao(pessoaId)
+					.filter(pessoa -> pessoa.getEnderecoPrincipal() != null
+							&& pessoa.getEnderecoPrincipal().getId().equals(enderecoId))
+					.ifPresent(pessoa -> pessoa.setEnderecoPrincipal(enderecoEncontrado));
+		}
+		eventPublisher.publishEvent(new AlteracaoPessoaEvento(TipoAlteracao.ENDERECO_ALTERADO, pessoaId, enderecoId));
+		return enderecoAtualizado;
+	}
+
+	public Pessoa substituirEnderecos(Long pessoaId, List<Endereco> enderecos, Set<String> versoesEsperadas) {
+		Pessoa pessoa = buscarPessoaParaAlteracao(pessoaId);
+		verificarVersao(versoesEsperadas, pessoa.versaoComEnderecos());
+		List<Endereco> incluir = new ArrayList<>();
+		Map<Long, AlteracaoEndereco> alterar = new LinkedHashMap<>();
+		for (Endereco endereco : enderecos) {
+			if (endereco.getId() == null) {
+				incluir.add(endereco);
+			} else {
+				alterar.put(endereco.getId(), AlteracaoEndereco.de(endereco));
+			}
+		}
+		Set<Long> remover = pessoa.getEnderecos().stream()
+				.map(Endereco::getId)
+				.filter(id -> !alterar.containsKey(id))
+				.collect(Collectors.toSet());
+		return aplicarLote(pessoa, new LoteEnderecos(incluir, alterar, remover));
 	}
 
+	public Pessoa aplicarLoteEnderecos(Long pessoaId, LoteEnderecos lote, Set<String> versoesEsperadas) {
+		Pessoa pessoa = buscarPessoaParaAlteracao(pessoaId);
+		verificarVersao(versoesEsperadas, pessoa.versaoComEnderecos());
+		return aplicarLote(pessoa, lote);
+	}
+
+	@Transactional(readOnly = true)
 	public Endereco buscarEndereco(Long pessoaId, Long enderecoId) {
-		Pessoa pessoa = buscarPessoaPorId(pessoaId);
-		Endereco enderecoEncontrado = enderecoRepository.findById(enderecoId)
-				.orElseThrow(() -> new EnderecoNaoEncontradoException(enderecoId));
-		if (!pessoa.getEnderecos().contains(enderecoEncontrado)) {
-			throw new EnderecoNaoPertenceAPessoaException(enderecoId);
+		return enderecoRepository.findByIdAndPessoaId(enderecoId, pessoaId)
+				.orElseThrow(() -> enderecoNaoEncontrado(pessoaId, enderecoId));
+	}
+
+	private Pessoa aplicarLote(Pessoa pessoa, LoteEnderecos lote) {
+		Long pessoaId = pessoa.getId();
+		Map<Long, Endereco> atuais = pessoa.getEnderecos().stream()
+				.collect(Collectors.toMap(Endereco::getId, Function.identity()));
+		for (Long enderecoId : lote.alterar().keySet()) {
+			if (lote.remover().contains(enderecoId)) {
+				throw new LoteEnderecosInvalidoException(enderecoId);
+			}
+		}
+		Stream.concat(lote.alterar().keySet().stream(), lote.remover().stream())
+				.filter(enderecoId -> !atuais.containsKey(enderecoId))
+				.findFirst()
+				.ifPresent(enderecoId -> {
+					throw enderecoNaoEncontrado(pessoaId, enderecoId);
+				});
+
+		List<Endereco> removidos = lote.remover().stream().map(atuais::get).toList();
+		pessoa.getEnderecos().removeIf(endereco -> lote.remover().contains(endereco.getId()));
+		enderecoRepository.deleteAll(removidos);
+		removidos.forEach(endereco -> eventPublisher.publishEvent(
+				new AlteracaoPessoaEvento(TipoAlteracao.ENDERECO_REMOVIDO, pessoaId, endereco.getId())));
+
+		lote.alterar().forEach((enderecoId, alteracao) -> {
+			if (alteracao.aplicarEm(atuais.get(enderecoId))) {
+				eventPublisher.publishEvent(
+						new AlteracaoPessoaEvento(TipoAlteracao.ENDERECO_ALTERADO, pessoaId, enderecoId));
+			}
+		});
+
+		for (Endereco endereco : lote.incluir()) {
+			endereco.setId(null);
+			endereco.setPessoaId(pessoaId);
+			pessoa.getEnderecos().add(endereco);
+		}
+		enderecoRepository.saveAll(lote.incluir());
+		lote.incluir().forEach(endereco -> eventPublisher.publishEvent(
+				new AlteracaoPessoaEvento(TipoAlteracao.ENDERECO_ADICIONADO, pessoaId, endereco.getId())));
+
+		Endereco principal = pessoa.getEnderecoPrincipal();
+		if (principal == null || lote.remover().contains(principal.getId())) {
+			pessoa.setEnderecoPrincipal(pessoa.primeiroEndereco());
+		} else {
+			// O principal pode estar entre os alterados
+			pessoa.atualizarResumoEnderecoPrincipal();
+		}
+		return pessoa;
+	}
+
+	// Trava a linha da pessoa: escritas concorrentes nela esperam em vez de falhar no controle otimista
+	private Pessoa buscarPessoaParaAlteracao(Long id) {
+		Pessoa pessoa = pessoaRepository.buscarParaAlteracao(id)
+				.orElseThrow(() -> new PessoaNaoEncontradaException(id));
+		Hibernate.initialize(pessoa.getEnderecos());
+		return pessoa;
+	}
+
+	private static void verificarVersao(Set<String> versoesEsperadas, String versaoAtual) {
+		if (versoesEsperadas != null && !versoesEsperadas.contains(versaoAtual)) {
+			throw new VersaoDesatualizadaException(String.join(", ", versoesEsperadas), versaoAtual);
+		}
+	}
+
+	private EntidadeNaoEncontradaException enderecoNaoEncontrado(Long pessoaId, Long enderecoId) {
+		if (!pessoaRepository.existsById(pessoaId)) {
+			return new PessoaNaoEncontradaException(pessoaId);
+		}
+		if (!enderecoRepository.existsById(enderecoId)) {
+			return new EnderecoNaoEncontradoException(enderecoId);
+		}
+		return new EnderecoNaoPertenceAPessoaException(enderecoId);
+	}
+
+	private List<PessoaDTO> comEnderecos(List<PessoaDTO> pessoas) {
+		if (pessoas.isEmpty()) {
+			return pessoas;
+		}
+		Map<Long, List<EnderecoDTO>> enderecosPorPessoa = enderecoRepository
+				.listarDTOsPorPessoas(pessoas.stream().map(PessoaDTO::id).toList())
+				.stream()
+				.collect(Collectors.groupingBy(EnderecoDTO::pessoaId));
+		return pessoas.stream()
+				.map(pessoa -> pessoa.comEnderecos(enderecosPorPessoa.getOrDefault(pessoa.id(), List.of())))
+				.toList();
+	}
+
+	private void entregarLote(List<Pessoa> lote, Consumer<Pessoa> consumidor) {
+		lote.forEach(consumidor);
+		lote.forEach(entityManager::detach);
+		lote.clear();
+	}
+
+	static long decodificarCursor(String cursor) {
+		try {
+			return Long.parseLong(cursor);
+		} catch (NumberFormatException e) {
+			throw new CursorInvalidoException(cursor);
 		}
-		return enderecoEncontrado;
 	}
 
 }
@@ -0,0 +1,104 @@
+package com.example.apipessoas.service;
+
+import com.example.apipessoas.dto.AlteracaoDTO;
+import com.example.apipessoas.model.RegistroAlteracao;
+import com.example.apipessoas.repository.RegistroAlteracaoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+// As posições só crescem na ordem de confirmação porque há um único publicador: as rodadas são serializadas
+// nesta instância
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PublicadorAlteracoes {
+
+	private final RegistroAlteracaoRepository registroAlteracaoRepository;
+
+	private final DestinoAlteracoes destinoAlteracoes;
+
+	private final TransactionTemplate transactionTemplate;
+
+	@Value("${api-pessoas.alteracoes.tamanho-lote:500}")
+	private int tamanhoLote;
+
+	@Value("${api-pessoas.alteracoes.retencao:7d}")
+	private Duration retencao;
+
+	private volatile boolean encerrando;
+
+	@Scheduled(fixedDelayString = "${api-pessoas.alteracoes.intervalo-ms:1000}")
+	public void publicarPendentes() {
+		// Um lote cheio indica que pode haver mais pendentes; continua sem esperar a próxima rodada
+		int publicadas;
+		do {
+			publicadas = encerrando ? 0 : publicarLote();
+		} while (publicadas == tamanhoLote);
+	}
+
+	@Scheduled(fixedDelayString = "${api-pessoas.alteracoes.limpeza-intervalo-ms:3600000}")
+	public void removerPublicadasAntigas() {
+		Instant limite = Instant.now().minus(retencao);
+		// A ordem de ocorrência nem sempre é a das posições; remover até uma única posição mantém contínuas as que
+		// ficam. A última fica sempre, pois numera as próximas
+		Long ate = transactionTemplate.execute(status -> Math.min(
+				registroAlteracaoRepository.buscarUltimaPosicaoAntes(limite),
+				registroAlteracaoRepository.buscarUltimaPosicao() - 1));
+		if (ate == null || ate <= 0) {
+			return;
+		}
+		long removidas = 0;
+		int lote;
+		do {
+			lote = encerrando ? 0 : removerLote(ate);
+			removidas += lote;
+		} while (lote == tamanhoLote);
+		if (removidas > 0) {
+			log.info("{} alterações publicadas até a posição {} removidas", removidas, ate);
+		}
+	}
+
+	// Antes de o agendador e o banco serem encerrados, que esperam a rodada em andamento terminar
+	@EventListener(ContextClosedEvent.class)
+	public void aoEncerrar() {
+		encerrando = true;
+	}
+
+	synchronized int publicarLote() {
+		Integer publicadas = transactionTemplate.execute(status -> {
+			List<RegistroAlteracao> pendentes = registroAlteracaoRepository.listarPendentes(
+					PageRequest.of(0, tamanhoLote));
+			if (pendentes.isEmpty()) {
+				return 0;
+			}
+			long posicao = registroAlteracaoRepository.buscarUltimaPosicao();
+			for (RegistroAlteracao pendente : pendentes) {
+				pendente.setPosicao(++posicao);
+			}
+			destinoAlteracoes.publicar(pendentes.stream().map(AlteracaoDTO::de).toList());
+			return pendentes.size();
+		});
+		return publicadas == null ? 0 : publicadas;
+	}
+
+	private int removerLote(long ate) {
+		Integer removidas = transactionTemplate.execute(status -> {
+			List<Long> ids = registroAlteracaoRepository.listarIdsAtePosicao(ate, PageRequest.of(0, tamanhoLote));
+			registroAlteracaoRepository.deleteAllByIdInBatch(ids);
+			return ids.size();
+		});
+		return removidas == null ? 0 : removidas;
+	}
+
+}
@@ -0,0 +1,29 @@
+package com.example.apipessoas.service;
+
+import com.example.apipessoas.event.AlteracaoPessoaEvento;
+import com.example.apipessoas.model.RegistroAlteracao;
+import com.example.apipessoas.repository.RegistroAlteracaoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+// Síncrono de propósito: o INSERT entra na transação de quem publicou o evento
+@Component
+@RequiredArgsConstructor
+public class RegistradorAlteracoes {
+
+	private final RegistroAlteracaoRepository registroAlteracaoRepository;
+
+	@EventListener
+	public void aoAlterar(AlteracaoPessoaEvento evento) {
+		registroAlteracaoRepository.save(RegistroAlteracao.builder()
+				.tipo(evento.tipo())
+				.pessoaId(evento.pessoaId())
+				.enderecoId(evento.enderecoId())
+				.ocorridaEm(Instant.now())
+				.build());
+	}
+
+}
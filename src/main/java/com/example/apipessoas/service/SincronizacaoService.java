@@ -0,0 +1,123 @@
+package com.example.apipessoas.service;
+
+import com.example.apipessoas.dto.EnderecoSincronizado;
+import com.example.apipessoas.dto.PessoaSincronizada;
+import com.example.apipessoas.dto.RemocaoSincronizada;
+import com.example.apipessoas.dto.Sincronizacao;
+import com.example.apipessoas.exception.AlteracoesDescartadasException;
+import com.example.apipessoas.exception.CursorInvalidoException;
+import com.example.apipessoas.repository.EnderecoRepository;
+import com.example.apipessoas.repository.PessoaRepository;
+import com.example.apipessoas.repository.RegistroAlteracaoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+// As alterações dos últimos api-pessoas.sincronizacao.margem ficam para a próxima chamada: o momento é
+// registrado antes do commit, e a margem cobre as transações confirmadas depois da consulta
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class SincronizacaoService {
+
+	private static final Posicao INICIO = new Posicao(Instant.EPOCH, Long.MIN_VALUE);
+
+	private final PessoaRepository pessoaRepository;
+
+	private final EnderecoRepository enderecoRepository;
+
+	private final RegistroAlteracaoRepository registroAlteracaoRepository;
+
+	@Value("${api-pessoas.sincronizacao.margem:5s}")
+	private Duration margem;
+
+	@Value("${api-pessoas.alteracoes.retencao:7d}")
+	private Duration retencao;
+
+	public Sincronizacao sincronizar(String marca, int tamanho) {
+		Posicao[] desde = marca == null ? new Posicao[] {INICIO, INICIO, INICIO} : decodificarMarca(marca);
+		if (marca != null && desde[2].momento().isBefore(Instant.now().minus(retencao))) {
+			throw new AlteracoesDescartadasException(marca);
+		}
+		Instant ate = Instant.now().minus(margem);
+		// Busca um registro a mais em cada lista apenas para saber se ela continua
+		PageRequest pagina = PageRequest.of(0, tamanho + 1);
+
+		Trecho<PessoaSincronizada> pessoas = trecho(
+				pessoaRepository.listarAlteradasApos(desde[0].momento(), desde[0].id(), ate, pagina),
+				tamanho, desde[0], ate, pessoa -> new Posicao(pessoa.ultimaAlteracao(), pessoa.id()));
+		Trecho<EnderecoSincronizado> enderecos = trecho(
+				enderecoRepository.listarAlteradosApos(desde[1].momento(), desde[1].id(), ate, pagina),
+				tamanho, desde[1], ate, endereco -> new Posicao(endereco.ultimaAlteracao(), endereco.id()));
+		Trecho<RemocaoSincronizada> remocoes = trecho(
+				registroAlteracaoRepository.listarRemocoesApos(desde[2].momento(), desde[2].id(), ate, pagina),
+				tamanho, desde[2], ate, remocao -> new Posicao(remocao.removidaEm(), remocao.registroId()));
+
+		String novaMarca = String.join(",", pessoas.proxima().codificar(), enderecos.proxima().codificar(),
+				remocoes.proxima().codificar());
+		return new Sincronizacao(pessoas.itens(), enderecos.itens(), remocoes.itens(), novaMarca,
+				pessoas.completo() && enderecos.completo() && remocoes.completo());
+	}
+
+	private static <T> Trecho<T> trecho(List<T> itens, int tamanho, Posicao desde, Instant ate,
+			Function<T, Posicao> posicao) {
+		if (itens.size() > tamanho) {
+			List<T> pagina = itens.subList(0, tamanho);
+			return new Trecho<>(pagina, posicao.apply(pagina.get(tamanho - 1)), false);
+		}
+		// Tudo até `ate` foi devolvido; a próxima chamada começa depois dele, sem nunca recuar
+		Posicao fim = new Posicao(ate, Long.MAX_VALUE);
+		return new Trecho<>(itens, fim.compareTo(desde) > 0 ? fim : desde, true);
+	}
+
+	private static Posicao[] decodificarMarca(String marca) {
+		String[] partes = marca.split(",", -1);
+		if (partes.length != 3) {
+			throw new CursorInvalidoException(marca);
+		}
+		Posicao[] posicoes = new Posicao[3];
+		for (int i = 0; i < partes.length; i++) {
+			String[] momentoEId = partes[i].split(":", -1);
+			try {
+				long nanos = Long.parseLong(momentoEId[0]);
+				posicoes[i] = new Posicao(Instant.ofEpochSecond(0, nanos), Long.parseLong(momentoEId[1]));
+			} catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+				throw new CursorInvalidoException(marca);
+			}
+			if (momentoEId.length != 2) {
+				throw new CursorInvalidoException(marca);
+			}
+		}
+		return posicoes;
+	}
+
+	private record Trecho<T>(List<T> itens, Posicao proxima, boolean completo) {
+
+	}
+
+	private record Posicao(Instant momento, long id) implements Comparable<Posicao> {
+
+		private static final Comparator<Posicao> ORDEM = Comparator.comparing(Posicao::momento)
+				.thenComparingLong(Posicao::id);
+
+		String codificar() {
+			long nanos = momento.getEpochSecond() * 1_000_000_000L + momento.getNano();
+			return nanos + ":" + id;
+		}
+
+		@Override
+		public int compareTo(Posicao outra) {
+			return ORDEM.compare(this, outra);
+		}
+
+	}
+
+}
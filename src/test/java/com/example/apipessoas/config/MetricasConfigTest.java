@@ -0,0 +1,105 @@
+package com.example.apipessoas.config;
+
+import com.example.apipessoas.controller.PessoaController;
+import com.example.apipessoas.exception.PessoaNaoEncontradaException;
+import com.example.apipessoas.model.Pessoa;
+import com.example.apipessoas.service.PessoaService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.restassured.RestAssured;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDate;
+import java.util.function.BooleanSupplier;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.containsString;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class MetricasConfigTest {
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private PessoaService pessoaService;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@BeforeEach
+	public void setUp() {
+		RestAssured.baseURI = "http://localhost";
+		RestAssured.port = port;
+		RestAssured.basePath = "";
+	}
+
+	@Test
+	void deveMedirOperacoesDoServico_IdentificandoAExcecao() {
+		assertThatThrownBy(() -> pessoaService.buscarPessoaPorId(12345L))
+				.isInstanceOf(PessoaNaoEncontradaException.class);
+
+		assertThat(meterRegistry.get(PessoaService.METRICA)
+				.tag("method", "buscarPessoaPorId")
+				.tag("exception", PessoaNaoEncontradaException.class.getSimpleName())
+				.timer().count()).isEqualTo(1);
+	}
+
+	@Test
+	void deveContarComandosSqlPorRequisicao_EExporEmFormatoPrometheus() throws InterruptedException {
+		Pessoa pessoa = pessoaService.salvar(Pessoa.builder()
+				.nome("Fulano")
+				.dataNascimento(LocalDate.of(1990, 1, 1))
+				.build());
+
+		given()
+			.pathParam("id", pessoa.getId())
+		.when()
+			.get(PessoaController.PATH + "/{id}")
+		.then()
+			.statusCode(HttpStatus.OK.value());
+
+		// O filtro registra a métrica depois que a resposta já foi enviada
+		aguardar(() -> meterRegistry.find(MetricasSqlRequisicaoFilter.METRICA_TEMPO).timer() != null);
+		assertThat(meterRegistry.get(MetricasSqlRequisicaoFilter.METRICA_COMANDOS)
+				.tag("uri", PessoaController.PATH + "/{id}")
+				.summary().totalAmount()).isEqualTo(1);
+
+		given()
+		.when()
+			.get("/actuator/prometheus")
+		.then()
+			.statusCode(HttpStatus.OK.value())
+			.body(containsString("http_server_requests_seconds_bucket"))
+			.body(containsString("pessoas_servico_seconds_count"))
+			.body(containsString("pessoas_requisicao_sql_comandos_bucket"))
+			.body(containsString("hikaricp_connections"))
+			.body(containsString("hibernate_second_level_cache_requests"));
+	}
+
+	@Test
+	void naoDeveExporRelatorioSqlNaWeb_PorPadrao() {
+		given()
+		.when()
+			.get("/actuator/sql")
+		.then()
+			.statusCode(HttpStatus.NOT_FOUND.value());
+	}
+
+	static void aguardar(BooleanSupplier condicao) throws InterruptedException {
+		for (int tentativa = 0; tentativa < 50 && !condicao.getAsBoolean(); tentativa++) {
+			Thread.sleep(100);
+		}
+	}
+
+}
@@ -0,0 +1,116 @@
+package com.example.apipessoas.config;
+
+import com.example.apipessoas.controller.PessoaController;
+import com.example.apipessoas.model.Endereco;
+import com.example.apipessoas.model.Pessoa;
+import com.example.apipessoas.service.PessoaService;
+import io.restassured.RestAssured;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDate;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(
+		webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+		properties = {
+				"api-pessoas.sql.orcamento.comandos=2",
+				"api-pessoas.sql.orcamento.tempo=1m",
+				"api-pessoas.sql.contar-linhas-lidas=true",
+				"management.endpoints.web.exposure.include=sql"
+		}
+)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class MonitoramentoSqlConfigTest {
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private PessoaService pessoaService;
+
+	@Autowired
+	private OrcamentoSqlRequisicao orcamentoSqlRequisicao;
+
+	private Pessoa pessoa;
+
+	private Endereco endereco;
+
+	@BeforeEach
+	public void setUp() {
+		RestAssured.baseURI = "http://localhost";
+		RestAssured.port = port;
+		RestAssured.basePath = "";
+
+		pessoa = pessoaService.salvar(Pessoa.builder()
+				.nome("Fulano")
+				.dataNascimento(LocalDate.of(1990, 1, 1))
+				.build());
+		endereco = pessoaService.adicionarEndereco(pessoa.getId(), novoEndereco("Rua A"));
+		pessoaService.adicionarEndereco(pessoa.getId(), novoEndereco("Rua B"));
+	}
+
+	@Test
+	void deveRegistrarRequisicaoQueExcedeOOrcamento() throws InterruptedException {
+		given()
+			.pathParam("pessoaId", pessoa.getId())
+			.pathParam("enderecoId", endereco.getId())
+		.when()
+			.delete(PessoaController.PATH + "/{pessoaId}/enderecos/{enderecoId}")
+		.then()
+			.statusCode(HttpStatus.NO_CONTENT.value());
+
+		MetricasConfigTest.aguardar(() -> !orcamentoSqlRequisicao.excedentes().isEmpty());
+		assertThat(orcamentoSqlRequisicao.excedentes()).singleElement().satisfies(excedente -> {
+			assertThat(excedente.endpoint())
+					.isEqualTo("DELETE " + PessoaController.PATH + "/{pessoaId}/enderecos/{enderecoId}");
+			assertThat(excedente.ocorrencias()).isEqualTo(1);
+			assertThat(excedente.comandos()).isGreaterThan(2);
+			assertThat(excedente.comandoMaisLento()).isNotBlank();
+		});
+
+		given()
+		.when()
+			.get("/actuator/sql")
+		.then()
+			.statusCode(HttpStatus.OK.value());
+	}
+
+	@Test
+	void naoDeveRegistrarRequisicaoDentroDoOrcamento_ContandoAsLinhasLidas() {
+		ContagemSqlRequisicao.Contagem contagem = ContagemSqlRequisicao.iniciar();
+		try {
+			pessoaService.consultarPessoa(pessoa.getId());
+		} finally {
+			ContagemSqlRequisicao.encerrar();
+		}
+
+		given()
+			.pathParam("id", pessoa.getId())
+		.when()
+			.get(PessoaController.PATH + "/{id}")
+		.then()
+			.statusCode(HttpStatus.OK.value());
+
+		assertThat(contagem.execucoes).isEqualTo(1);
+		assertThat(contagem.linhas).isEqualTo(2);
+		assertThat(orcamentoSqlRequisicao.excedentes()).isEmpty();
+	}
+
+	private static Endereco novoEndereco(String logradouro) {
+		return Endereco.builder()
+				.logradouro(logradouro)
+				.cep("11111-111")
+				.numero(1)
+				.cidade("Cidade")
+				.build();
+	}
+
+}
@@ -0,0 +1,165 @@
+package com.example.apipessoas.config;
+
+import com.example.apipessoas.controller.PessoaController;
+import com.example.apipessoas.dto.AlteracaoPessoa;
+import com.example.apipessoas.dto.PessoaDTO;
+import com.example.apipessoas.model.Pessoa;
+import com.example.apipessoas.service.ConsultaPessoaCompartilhada;
+import com.example.apipessoas.service.PessoaService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.restassured.RestAssured;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+// A replicação é simulada copiando o script do primário para a réplica
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"spring.datasource.url=jdbc:h2:mem:primario",
+		"api-pessoas.replica.jdbc-url=jdbc:h2:mem:replica",
+		"api-pessoas.replica.username=sa"
+})
+class ReplicaDataSourceConfigTest {
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private PessoaService pessoaService;
+
+	@Autowired
+	private ConsultaPessoaCompartilhada consultaPessoaCompartilhada;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private HikariDataSource dataSourcePrimario;
+
+	@Autowired
+	private HikariDataSource dataSourceReplica;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@BeforeEach
+	public void setUp() {
+		RestAssured.baseURI = "http://localhost";
+		RestAssured.port = port;
+		RestAssured.basePath = PessoaController.PATH;
+	}
+
+	@Test
+	void deveUsarReplica_QuandoTransacaoForSomenteLeitura() {
+		assertThat(bancoEmUso(true)).isEqualTo("REPLICA");
+	}
+
+	@Test
+	void deveUsarPrimario_QuandoTransacaoForDeEscrita() {
+		assertThat(bancoEmUso(false)).isEqualTo("PRIMARIO");
+	}
+
+	@Test
+	void deveListarPessoasDaReplica_EnquantoEscritasVaoParaOPrimario() {
+		Pessoa pessoa = pessoaService.salvar(Pessoa.builder()
+				.nome("Fulano")
+				.dataNascimento(LocalDate.of(1990, 1, 1))
+				.build());
+
+		replicar();
+
+		assertThat(pessoaService.listarPessoas(null, 10).conteudo())
+				.extracting(PessoaDTO::id)
+				.contains(pessoa.getId());
+	}
+
+	@Test
+	void naoDeveEnxergarEscritaNaoReplicada_QuandoListarPessoas() {
+		replicar();
+		Pessoa pessoa = pessoaService.salvar(Pessoa.builder()
+				.nome("Ciclano")
+				.dataNascimento(LocalDate.of(1985, 5, 5))
+				.build());
+
+		assertThat(pessoaService.listarPessoas(null, 100).conteudo())
+				.extracting(PessoaDTO::id)
+				.doesNotContain(pessoa.getId());
+	}
+
+	@Test
+	void deveConsultarPessoaNoPrimario_LogoAposAlteracaoNaoReplicada() {
+		replicar();
+		Pessoa pessoa = pessoaService.salvar(Pessoa.builder()
+				.nome("Beltrano")
+				.dataNascimento(LocalDate.of(1980, 3, 3))
+				.build());
+
+		assertThat(consultaPessoaCompartilhada.consultar(pessoa.getId()).nome()).isEqualTo("Beltrano");
+	}
+
+	@Test
+	void deveEscolherOBancoPorTransacao_EmUmaMesmaRequisicao() {
+		Pessoa pessoa = pessoaService.salvar(Pessoa.builder()
+				.nome("Fulano")
+				.dataNascimento(LocalDate.of(1990, 1, 1))
+				.build());
+		replicar();
+		pessoaService.alterar(pessoa.getId(), new AlteracaoPessoa("Fulano Alterado", null), null);
+
+		// A versão é conferida numa transação e a pessoa lida em outra, no primário por ter sido alterada há pouco
+		given()
+			.pathParam("id", pessoa.getId())
+			.header("If-None-Match", "\"outra\"")
+		.when()
+			.get("/{id}")
+		.then().log().all().assertThat()
+			.statusCode(HttpStatus.OK.value())
+			.body("nome", equalTo("Fulano Alterado"));
+	}
+
+	@Test
+	void naoDeveResponder304ComAVersaoDaReplica_LogoAposAlteracao() {
+		Pessoa pessoa = pessoaService.salvar(Pessoa.builder()
+				.nome("Fulano")
+				.dataNascimento(LocalDate.of(1990, 1, 1))
+				.build());
+		replicar();
+		String etagReplicada = "\"" + pessoaService.consultarVersao(pessoa.getId()) + "\"";
+		pessoaService.alterar(pessoa.getId(), new AlteracaoPessoa("Fulano Alterado", null), null);
+
+		given()
+			.pathParam("id", pessoa.getId())
+			.header("If-None-Match", etagReplicada)
+		.when()
+			.get("/{id}")
+		.then().log().all().assertThat()
+			.statusCode(HttpStatus.OK.value())
+			.body("nome", equalTo("Fulano Alterado"));
+	}
+
+	private String bancoEmUso(boolean somenteLeitura) {
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		transactionTemplate.setReadOnly(somenteLeitura);
+		return transactionTemplate.execute(status ->
+				new JdbcTemplate(dataSource).queryForObject("select database()", String.class));
+	}
+
+	private void replicar() {
+		JdbcTemplate replica = new JdbcTemplate(dataSourceReplica);
+		replica.execute("drop all objects");
+		new JdbcTemplate(dataSourcePrimario).queryForList("script", String.class).forEach(replica::execute);
+	}
+
+}
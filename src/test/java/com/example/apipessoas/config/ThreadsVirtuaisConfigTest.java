@@ -0,0 +1,50 @@
+package com.example.apipessoas.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ThreadsVirtuaisConfigTest {
+
+	private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+			.withPropertyValues("spring.profiles.active=" + ThreadsVirtuaisConfig.PERFIL)
+			.withUserConfiguration(ThreadsVirtuaisConfig.class);
+
+	@Test
+	@EnabledForJreRange(max = JRE.JAVA_20)
+	void deveFalharNaInicializacao_QuandoJavaNaoSuportarThreadsVirtuais() {
+		contextRunner.run(context -> assertThat(context)
+				.hasFailed()
+				.getFailure()
+				.rootCause()
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("exige Java 21"));
+	}
+
+	@Test
+	@EnabledForJreRange(min = JRE.JAVA_21)
+	void deveExecutarTarefasAssincronasEmThreadsVirtuais() {
+		contextRunner.run(context -> {
+			AsyncTaskExecutor executor = context.getBean(AsyncTaskExecutor.class);
+
+			Boolean virtual = CompletableFuture.supplyAsync(() -> isVirtual(Thread.currentThread()), executor).get();
+
+			assertThat(virtual).isTrue();
+		});
+	}
+
+	private static boolean isVirtual(Thread thread) {
+		try {
+			return (boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
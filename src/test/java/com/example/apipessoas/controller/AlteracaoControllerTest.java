@@ -0,0 +1,177 @@
+package com.example.apipessoas.controller;
+
+import com.example.apipessoas.model.Endereco;
+import com.example.apipessoas.model.Pessoa;
+import com.example.apipessoas.model.RegistroAlteracao;
+import com.example.apipessoas.repository.RegistroAlteracaoRepository;
+import com.example.apipessoas.service.PessoaService;
+import com.example.apipessoas.service.PublicadorAlteracoes;
+import io.restassured.RestAssured;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "api-pessoas.alteracoes.retencao=0s"
+)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class AlteracaoControllerTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private PessoaService pessoaService;
+
+    @Autowired
+    private PublicadorAlteracoes publicadorAlteracoes;
+
+    @Autowired
+    private RegistroAlteracaoRepository registroAlteracaoRepository;
+
+    @BeforeEach
+    public void setUp() {
+        RestAssured.baseURI = "http://localhost";
+        RestAssured.port = port;
+        RestAssured.basePath = AlteracaoController.PATH;
+    }
+
+    @Test
+    void deveListarAlteracoesPublicadas_EmOrdem() {
+        Pessoa pessoa = pessoaService.salvar(novaPessoa());
+        Endereco endereco = pessoaService.adicionarEndereco(pessoa.getId(), novoEndereco());
+
+        given()
+        .when()
+            .get()
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.OK.value())
+            .body("conteudo", empty());
+
+        publicadorAlteracoes.publicarPendentes();
+        pessoaService.removerEndereco(pessoa.getId(), endereco.getId());
+        pessoaService.remover(pessoa.getId());
+        publicadorAlteracoes.publicarPendentes();
+
+        given()
+            .queryParam("tamanho", 3)
+        .when()
+            .get()
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.OK.value())
+            .body("conteudo.tipo", contains("PESSOA_CRIADA", "ENDERECO_ADICIONADO", "ENDERECO_REMOVIDO"))
+            .body("conteudo.posicao", contains(1, 2, 3))
+            .body("conteudo[1].enderecoId", equalTo(endereco.getId().intValue()))
+            .body("proximoCursor", equalTo("3"));
+
+        given()
+            .queryParam("since", 3)
+        .when()
+            .get()
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.OK.value())
+            .body("conteudo.tipo", contains("PESSOA_REMOVIDA"))
+            .body("conteudo[0].pessoaId", equalTo(pessoa.getId().intValue()))
+            .body("proximoCursor", nullValue());
+    }
+
+    @Test
+    void deveRemoverPublicadasAntigas_MantendoAUltimaPosicao() {
+        Pessoa pessoa = pessoaService.salvar(novaPessoa());
+        pessoaService.remover(pessoa.getId());
+        publicadorAlteracoes.publicarPendentes();
+
+        publicadorAlteracoes.removerPublicadasAntigas();
+
+        given()
+            .queryParam("since", 1)
+        .when()
+            .get()
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.OK.value())
+            .body("conteudo.tipo", contains("PESSOA_REMOVIDA"));
+
+        pessoaService.salvar(novaPessoa());
+        publicadorAlteracoes.publicarPendentes();
+        publicadorAlteracoes.removerPublicadasAntigas();
+
+        given()
+            .queryParam("since", 1)
+        .when()
+            .get()
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.GONE.value());
+
+        given()
+            .queryParam("since", 2)
+        .when()
+            .get()
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.OK.value())
+            .body("conteudo.tipo", contains("PESSOA_CRIADA"))
+            .body("conteudo.posicao", contains(3));
+    }
+
+    @Test
+    void deveRemoverFaixaContinuaDePosicoes_QuandoOcorrenciasEstiveremForaDeOrdem() {
+        for (int i = 0; i < 4; i++) {
+            pessoaService.salvar(novaPessoa());
+        }
+        publicadorAlteracoes.publicarPendentes();
+        // A primeira posição ocorreu depois das seguintes, como quando ids de outra instância chegam atrasados
+        RegistroAlteracao primeira = registroAlteracaoRepository.findAll().stream()
+                .filter(registro -> registro.getPosicao() == 1)
+                .findFirst().orElseThrow();
+        primeira.setOcorridaEm(Instant.now().plus(Duration.ofDays(1)));
+        registroAlteracaoRepository.save(primeira);
+
+        publicadorAlteracoes.removerPublicadasAntigas();
+
+        given()
+            .queryParam("since", 1)
+        .when()
+            .get()
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.GONE.value());
+
+        given()
+            .queryParam("since", 3)
+        .when()
+            .get()
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.OK.value())
+            .body("conteudo.posicao", contains(4));
+    }
+
+    private static Pessoa novaPessoa() {
+        return Pessoa.builder()
+                .nome("Fulano")
+                .dataNascimento(LocalDate.of(1990, 1, 1))
+                .build();
+    }
+
+    private static Endereco novoEndereco() {
+        return Endereco.builder()
+                .logradouro("Rua A")
+                .cep("11111-111")
+                .numero(1)
+                .cidade("Cidade")
+                .build();
+    }
+
+}
@@ -0,0 +1,144 @@
+package com.example.apipessoas.controller;
+
+import com.example.apipessoas.model.Endereco;
+import com.example.apipessoas.model.Pessoa;
+import com.example.apipessoas.service.PessoaService;
+import io.restassured.RestAssured;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class EnderecoControllerTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private PessoaService pessoaService;
+
+    private Pessoa pessoa1;
+
+    private Pessoa pessoa2;
+
+    @BeforeEach
+    public void setUp() {
+        RestAssured.baseURI = "http://localhost";
+        RestAssured.port = port;
+        RestAssured.basePath = EnderecoController.PATH;
+
+        pessoa1 = pessoaService.salvar(Pessoa.builder()
+                .nome("Fulano")
+                .dataNascimento(LocalDate.of(1990, 1, 1))
+                .enderecos(new LinkedHashSet<>())
+                .build());
+        pessoa2 = pessoaService.salvar(Pessoa.builder()
+                .nome("Ciclano")
+                .dataNascimento(LocalDate.of(1992, 2, 2))
+                .enderecos(new LinkedHashSet<>())
+                .build());
+
+        pessoaService.adicionarEndereco(pessoa1.getId(), endereco("01310-200", "São Paulo"));
+        pessoaService.adicionarEndereco(pessoa2.getId(), endereco("01310-100", "São Paulo"));
+        pessoaService.adicionarEndereco(pessoa1.getId(), endereco("01311-000", "São Paulo"));
+        pessoaService.adicionarEndereco(pessoa2.getId(), endereco("20040-020", "Rio de Janeiro"));
+    }
+
+    @Test
+    void deveBuscarEnderecosPorPrefixoDeCep_EmOrdemDeCep() {
+        given()
+            .queryParam("cep", "01310")
+        .when()
+            .get()
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.OK.value())
+            .body("conteudo.cep", contains("01310-100", "01310-200"))
+            .body("conteudo.pessoaId", contains(pessoa2.getId().intValue(), pessoa1.getId().intValue()))
+            .body("conteudo[0].nomePessoa", equalTo("Ciclano"))
+            .body("proximoCursor", nullValue());
+    }
+
+    @Test
+    void deveBuscarEnderecosPorPrefixoDeCep_PaginandoPorCursor() {
+        String proximoCursor =
+        given()
+            .queryParam("cep", "0131")
+            .queryParam("tamanho", 2)
+        .when()
+            .get()
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.OK.value())
+            .body("conteudo.cep", contains("01310-100", "01310-200"))
+        .extract().path("proximoCursor");
+
+        given()
+            .queryParam("cep", "0131")
+            .queryParam("tamanho", 2)
+            .queryParam("cursor", proximoCursor)
+        .when()
+            .get()
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.OK.value())
+            .body("conteudo.cep", contains("01311-000"))
+            .body("proximoCursor", nullValue());
+    }
+
+    @Test
+    void deveBuscarEnderecosPorCidade() {
+        given()
+            .queryParam("cidade", "Rio de Janeiro")
+        .when()
+            .get()
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.OK.value())
+            .body("conteudo.cep", contains("20040-020"))
+            .body("conteudo[0].pessoaId", equalTo(pessoa2.getId().intValue()));
+    }
+
+    @Test
+    void deveEncontrarEnderecoPeloNovoCep_QuandoCepForAtualizado() {
+        Endereco endereco = pessoaService.adicionarEndereco(pessoa1.getId(), endereco("30130-000", "Belo Horizonte"));
+        pessoaService.atualizarEndereco(pessoa1.getId(), endereco.getId(), endereco("30140-000", "Belo Horizonte"));
+
+        given()
+            .queryParam("cep", "3014")
+        .when()
+            .get()
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.OK.value())
+            .body("conteudo.id", contains(endereco.getId().intValue()));
+    }
+
+    @Test
+    void deveRetornar400_QuandoPrefixoDeCepForInvalido() {
+        given()
+            .queryParam("cep", "0131-0")
+        .when()
+            .get()
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.BAD_REQUEST.value());
+    }
+
+    private static Endereco endereco(String cep, String cidade) {
+        return Endereco.builder()
+                .logradouro("Rua A")
+                .cep(cep)
+                .numero(1)
+                .cidade(cidade)
+                .build();
+    }
+
+}
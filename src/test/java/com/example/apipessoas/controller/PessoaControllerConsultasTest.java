@@ -0,0 +1,305 @@
+package com.example.apipessoas.controller;
+
+import com.example.apipessoas.dto.AlteracaoEndereco;
+import com.example.apipessoas.model.Endereco;
+import com.example.apipessoas.model.Pessoa;
+import com.example.apipessoas.service.PessoaService;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.jpa.properties.hibernate.generate_statistics=true",
+                "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                        + "com.example.apipessoas.controller.PessoaControllerConsultasTest$RegistroUpdates"
+        }
+)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class PessoaControllerConsultasTest {
+
+    private static final int ENDERECOS_POR_PESSOA = 3;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private PessoaService pessoaService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        RestAssured.baseURI = "http://localhost";
+        RestAssured.port = port;
+        RestAssured.basePath = PessoaController.PATH;
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void deveListarPessoasComQuantidadeFixaDeConsultas() {
+        criarPessoas(1);
+        long consultasComUmaPessoa = contarConsultas(() -> given().get().then().statusCode(HttpStatus.OK.value()));
+
+        criarPessoas(20);
+        long consultasComVariasPessoas = contarConsultas(() -> given().get().then().statusCode(HttpStatus.OK.value()));
+
+        assertThat(consultasComUmaPessoa).isLessThanOrEqualTo(2);
+        assertThat(consultasComVariasPessoas).isEqualTo(consultasComUmaPessoa);
+    }
+
+    @Test
+    void deveListarPessoasSemJoinComEnderecos_ComResumoDoPrincipalEmDia() {
+        Pessoa pessoa = criarPessoas(1);
+        Long enderecoPrincipalId = pessoaService.listarEnderecos(pessoa.getId()).get(0).getId();
+        pessoaService.alterarEndereco(pessoa.getId(), enderecoPrincipalId,
+                new AlteracaoEndereco(null, "22222-222", null, null), null);
+
+        RegistroUpdates.SELECTS.clear();
+        given()
+            .get()
+        .then()
+            .statusCode(HttpStatus.OK.value())
+            .body("conteudo[0].resumoEnderecoPrincipal.cep", equalTo("22222-222"))
+            .body("conteudo[0].resumoEnderecoPrincipal.cidade", equalTo("Cidade"))
+            .body("conteudo[0].enderecoPrincipal.id", equalTo(enderecoPrincipalId.intValue()));
+
+        assertThat(RegistroUpdates.SELECTS)
+                .filteredOn(sql -> sql.contains(" from pessoa "))
+                .singleElement().asString()
+                .doesNotContain("join");
+    }
+
+    @Test
+    void deveTransmitirPessoasComQuantidadeFixaDeConsultas() {
+        criarPessoas(1);
+        long consultasComUmaPessoa = contarConsultas(() -> given()
+                .accept(PessoaController.APPLICATION_NDJSON_VALUE)
+                .get().then().statusCode(HttpStatus.OK.value()));
+
+        criarPessoas(20);
+        long consultasComVariasPessoas = contarConsultas(() -> given()
+                .accept(PessoaController.APPLICATION_NDJSON_VALUE)
+                .get().then().statusCode(HttpStatus.OK.value()));
+
+        assertThat(consultasComUmaPessoa).isLessThanOrEqualTo(2);
+        assertThat(consultasComVariasPessoas).isEqualTo(consultasComUmaPessoa);
+    }
+
+    @Test
+    void deveBuscarPessoaPeloIdComUmaConsulta() {
+        Pessoa pessoa = criarPessoas(1);
+
+        long consultas = contarConsultas(() -> given()
+                .pathParam("id", pessoa.getId())
+                .get("/{id}").then().statusCode(HttpStatus.OK.value()));
+
+        assertThat(consultas).isEqualTo(1);
+    }
+
+    @Test
+    void deveServirPessoaDoCacheDeConsultas_AteQueElaSejaAlterada() {
+        Pessoa pessoa = criarPessoas(1);
+        Runnable buscar = () -> given()
+                .pathParam("id", pessoa.getId())
+                .get("/{id}").then().statusCode(HttpStatus.OK.value());
+        buscar.run();
+
+        long consultasComCache = contarConsultas(buscar);
+        pessoaService.atualizar(pessoa.getId(), pessoa.withNome("Outro nome"));
+        long consultasAposAlteracao = contarConsultas(buscar);
+
+        assertThat(consultasComCache).isZero();
+        assertThat(consultasAposAlteracao).isEqualTo(1);
+    }
+
+    @Test
+    void deveResponder304ConsultandoSoAVersao() {
+        Pessoa pessoa = criarPessoas(1);
+        String etag = given()
+                .pathParam("id", pessoa.getId())
+                .get("/{id}").then().statusCode(HttpStatus.OK.value())
+                .extract().header("ETag");
+
+        statistics.clear();
+        given()
+                .pathParam("id", pessoa.getId())
+                .header("If-None-Match", etag)
+                .get("/{id}").then().statusCode(HttpStatus.NOT_MODIFIED.value());
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+    }
+
+    @Test
+    void deveListarEnderecosComUmaConsulta() {
+        Pessoa pessoa = criarPessoas(1);
+
+        long consultas = contarConsultas(() -> given()
+                .pathParam("id", pessoa.getId())
+                .get("/{id}/enderecos").then().statusCode(HttpStatus.OK.value()));
+
+        assertThat(consultas).isEqualTo(1);
+    }
+
+    @Test
+    void deveBuscarEnderecoComUmaConsulta() {
+        Pessoa pessoa = criarPessoas(1);
+        Long enderecoId = pessoaService.listarEnderecos(pessoa.getId()).get(0).getId();
+
+        long consultas = contarConsultas(() -> given()
+                .pathParam("pessoaId", pessoa.getId())
+                .pathParam("enderecoId", enderecoId)
+                .get("/{pessoaId}/enderecos/{enderecoId}").then().statusCode(HttpStatus.OK.value()));
+
+        assertThat(consultas).isEqualTo(1);
+    }
+
+    @Test
+    void deveGravarSoAsColunasAlteradas_QuandoPatch() {
+        Pessoa pessoa = criarPessoas(1);
+        Long enderecoId = pessoaService.listarEnderecos(pessoa.getId()).get(0).getId();
+
+        RegistroUpdates.UPDATES.clear();
+        given()
+            .pathParam("pessoaId", pessoa.getId())
+            .pathParam("enderecoId", enderecoId)
+            .body("{\"cep\": \"22222-222\"}")
+            .contentType(ContentType.JSON)
+        .when()
+            .patch("/{pessoaId}/enderecos/{enderecoId}")
+        .then()
+            .statusCode(HttpStatus.OK.value());
+
+        assertThat(RegistroUpdates.UPDATES).filteredOn(sql -> sql.startsWith("update endereco "))
+                .singleElement().asString()
+                .contains("cep=", "cep_numerico=", "versao=")
+                .doesNotContain("logradouro", "numero=", "cidade");
+        // O endereço alterado é o principal, cujo resumo fica na linha da pessoa
+        assertThat(RegistroUpdates.UPDATES).filteredOn(sql -> sql.startsWith("update pessoa "))
+                .singleElement().asString()
+                .contains("endereco_principal_cep=")
+                .doesNotContain("nome=");
+    }
+
+    @Test
+    void naoDeveGravarNada_QuandoPatchNaoAlterarNenhumCampo() {
+        Pessoa pessoa = criarPessoas(1);
+        String etag = given()
+                .pathParam("id", pessoa.getId())
+                .get("/{id}").then().statusCode(HttpStatus.OK.value())
+                .extract().header("ETag");
+
+        RegistroUpdates.UPDATES.clear();
+        given()
+            .pathParam("id", pessoa.getId())
+            .body("{\"nome\": \"" + pessoa.getNome() + "\"}")
+            .contentType(ContentType.JSON)
+        .when()
+            .patch("/{id}")
+        .then()
+            .statusCode(HttpStatus.OK.value())
+            .header("ETag", etag);
+
+        assertThat(RegistroUpdates.UPDATES).isEmpty();
+    }
+
+    @Test
+    void deveSubstituirEnderecosComQuantidadeFixaDeComandos() {
+        Pessoa pessoa = criarPessoas(1);
+        Runnable substituirPorTres = () -> substituirEnderecos(pessoa, 3);
+        Runnable substituirPorVinte = () -> substituirEnderecos(pessoa, 20);
+
+        long comandosComTres = contarConsultas(substituirPorTres);
+        substituirPorVinte.run();
+        long comandosComVinte = contarConsultas(substituirPorVinte);
+
+        // Fora uma eventual ida à sequência de ids quando a faixa reservada se esgota
+        assertThat(comandosComVinte).isLessThanOrEqualTo(comandosComTres + 2);
+    }
+
+    private void substituirEnderecos(Pessoa pessoa, int quantidade) {
+        StringBuilder corpo = new StringBuilder("[");
+        for (int i = 0; i < quantidade; i++) {
+            corpo.append(i == 0 ? "" : ",")
+                    .append("{\"logradouro\": \"Rua ").append(i)
+                    .append("\", \"cep\": \"11111-111\", \"numero\": 1, \"cidade\": \"Cidade\"}");
+        }
+        given()
+            .pathParam("id", pessoa.getId())
+            .body(corpo.append("]").toString())
+            .contentType(ContentType.JSON)
+        .when()
+            .put("/{id}/enderecos")
+        .then()
+            .statusCode(HttpStatus.OK.value());
+    }
+
+    private long contarConsultas(Runnable requisicao) {
+        statistics.clear();
+        requisicao.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Pessoa criarPessoas(int quantidade) {
+        Pessoa ultima = null;
+        for (int i = 0; i < quantidade; i++) {
+            ultima = pessoaService.salvar(Pessoa.builder()
+                    .nome("Pessoa " + i)
+                    .dataNascimento(LocalDate.of(1990, 1, 1))
+                    .build());
+            for (int j = 0; j < ENDERECOS_POR_PESSOA; j++) {
+                pessoaService.adicionarEndereco(ultima.getId(), Endereco.builder()
+                        .logradouro("Rua " + j)
+                        .cep("11111-111")
+                        .numero(j + 1)
+                        .cidade("Cidade")
+                        .build());
+            }
+        }
+        return ultima;
+    }
+
+    public static class RegistroUpdates implements StatementInspector {
+
+        static final List<String> UPDATES = new CopyOnWriteArrayList<>();
+
+        static final List<String> SELECTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.startsWith("update")) {
+                UPDATES.add(sql);
+            } else if (sql.startsWith("select")) {
+                SELECTS.add(sql);
+            }
+            return sql;
+        }
+
+    }
+
+}
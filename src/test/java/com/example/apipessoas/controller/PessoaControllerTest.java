@@ -5,6 +5,8 @@ import com.example.apipessoas.model.Pessoa;
 import com.example.apipessoas.repository.EnderecoRepository;
 import com.example.apipessoas.repository.PessoaRepository;
 import com.example.apipessoas.service.PessoaService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import io.restassured.RestAssured;
 import io.restassured.http.ContentType;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,17 +15,23 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 
 import static io.restassured.RestAssured.given;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.emptyString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -69,13 +77,13 @@ class PessoaControllerTest {
         pessoa1.setId(1L);
         pessoa1.setNome("Fulano");
         pessoa1.setDataNascimento(LocalDate.of(1990, 1, 1));
-        pessoa1.setEnderecos(new ArrayList<>());
+        pessoa1.setEnderecos(new LinkedHashSet<>());
 
         pessoa2 = new Pessoa();
         pessoa2.setId(2L);
         pessoa2.setNome("Ciclano");
         pessoa2.setDataNascimento(LocalDate.of(1992, 2, 2));
-        pessoa2.setEnderecos(new ArrayList<>());
+        pessoa2.setEnderecos(new LinkedHashSet<>());
 
         endereco1 = new Endereco();
         endereco1.setId(1L);
@@ -146,17 +154,300 @@ class PessoaControllerTest {
             .get()
         .then().log().all().assertThat()
             .statusCode(HttpStatus.OK.value())
-            .body("size()", equalTo(2))
-            .body("[0].id", equalTo(pessoa1.getId().intValue()))
-            .body("[0].nome", equalTo(pessoa1.getNome()))
-            .body("[0].dataNascimento", equalTo(pessoa1.getDataNascimento().toString()))
-            .body("[0].enderecos", is(empty()))
-            .body("[0].enderecoPrincipal", nullValue())
-            .body("[1].id", equalTo(pessoa2.getId().intValue()))
-            .body("[1].nome", equalTo(pessoa2.getNome()))
-            .body("[1].dataNascimento", equalTo(pessoa2.getDataNascimento().toString()))
-            .body("[1].enderecos", is(empty()))
-            .body("[1].enderecoPrincipal", nullValue());
+            .body("conteudo.size()", equalTo(2))
+            .body("conteudo[0].id", equalTo(pessoa1.getId().intValue()))
+            .body("conteudo[0].nome", equalTo(pessoa1.getNome()))
+            .body("conteudo[0].dataNascimento", equalTo(pessoa1.getDataNascimento().toString()))
+            .body("conteudo[0].enderecos", is(empty()))
+            .body("conteudo[0].enderecoPrincipal", nullValue())
+            .body("conteudo[1].id", equalTo(pessoa2.getId().intValue()))
+            .body("conteudo[1].nome", equalTo(pessoa2.getNome()))
+            .body("conteudo[1].dataNascimento", equalTo(pessoa2.getDataNascimento().toString()))
+            .body("conteudo[1].enderecos", is(empty()))
+            .body("conteudo[1].enderecoPrincipal", nullValue())
+            .body("proximoCursor", nullValue());
+    }
+
+    @Test
+    void deveListarPessoasPaginandoPorCursor() {
+        pessoaRepository.save(pessoa1);
+        pessoaRepository.save(pessoa2);
+
+        String proximoCursor =
+        given()
+            .queryParam("tamanho", 1)
+        .when()
+            .get()
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.OK.value())
+            .body("conteudo.size()", equalTo(1))
+            .body("conteudo[0].id", equalTo(pessoa1.getId().intValue()))
+            .body("proximoCursor", equalTo(pessoa1.getId().toString()))
+        .extract().path("proximoCursor");
+
+        given()
+            .queryParam("tamanho", 1)
+            .queryParam("cursor", proximoCursor)
+        .when()
+            .get()
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.OK.value())
+            .body("conteudo.size()", equalTo(1))
+            .body("conteudo[0].id", equalTo(pessoa2.getId().intValue()))
+            .body("proximoCursor", nullValue());
+    }
+
+    @Test
+    void deveRetornar400_QuandoTamanhoDaPaginaForInvalido() {
+        given()
+            .queryParam("tamanho", PessoaController.TAMANHO_MAXIMO_PAGINA + 1)
+        .when()
+            .get()
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.BAD_REQUEST.value());
+    }
+
+    @Test
+    void deveTransmitirPessoasEmNdjson() {
+        pessoaRepository.save(pessoa1);
+        pessoaRepository.save(pessoa2);
+
+        String corpo =
+        given()
+            .accept(PessoaController.APPLICATION_NDJSON_VALUE)
+        .when()
+            .get()
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.OK.value())
+        .extract().asString();
+
+        assertThat(corpo.lines())
+                .hasSize(2)
+                .satisfiesExactly(
+                        linha -> assertThat(linha).contains("\"nome\":\"Fulano\""),
+                        linha -> assertThat(linha).contains("\"nome\":\"Ciclano\""));
+    }
+
+    @Test
+    void deveListarPessoasEmCbor_QuandoSolicitado() throws IOException {
+        pessoaRepository.save(pessoa1);
+        pessoaRepository.save(pessoa2);
+
+        byte[] corpo =
+        given()
+            .accept(MediaType.APPLICATION_CBOR_VALUE)
+        .when()
+            .get()
+        .then().assertThat()
+            .statusCode(HttpStatus.OK.value())
+            .contentType(MediaType.APPLICATION_CBOR_VALUE)
+        .extract().asByteArray();
+
+        JsonNode pagina = new CBORMapper().readTree(corpo);
+        assertThat(pagina.at("/conteudo/0/nome").asText()).isEqualTo(pessoa1.getNome());
+        assertThat(pagina.at("/conteudo/1/dataNascimento").asText())
+                .isEqualTo(pessoa2.getDataNascimento().toString());
+    }
+
+    @Test
+    void deveComprimirListagem_SoAcimaDoTamanhoMinimo() {
+        pessoaRepository.save(pessoa1);
+
+        given()
+            .header("Accept-Encoding", "gzip")
+        .when()
+            .get()
+        .then().assertThat()
+            .statusCode(HttpStatus.OK.value())
+            .header("Content-Encoding", nullValue());
+
+        for (int i = 0; i < 50; i++) {
+            pessoaRepository.save(Pessoa.builder()
+                    .nome("Pessoa " + i)
+                    .dataNascimento(LocalDate.of(1990, 1, 1))
+                    .build());
+        }
+
+        given()
+            .header("Accept-Encoding", "gzip")
+        .when()
+            .get()
+        .then().assertThat()
+            .statusCode(HttpStatus.OK.value())
+            .header("Content-Encoding", equalTo("gzip"))
+            .body("conteudo.size()", equalTo(50));
+    }
+
+    @Test
+    void deveBuscarPessoasPeloNome_SemDiferenciarAcentos() {
+        pessoa1.setNome("José da Silva");
+        pessoa2.setNome("Josefina Souza");
+        pessoaService.salvar(pessoa1);
+        pessoaService.salvar(pessoa2);
+
+        String proximoCursor =
+        given()
+            .queryParam("q", "jose")
+            .queryParam("tamanho", 1)
+        .when()
+            .get("/search")
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.OK.value())
+            .body("conteudo.size()", equalTo(1))
+            .body("conteudo[0].nome", equalTo("José da Silva"))
+            .body("proximoCursor", equalTo("1"))
+        .extract().path("proximoCursor");
+
+        given()
+            .queryParam("q", "jose")
+            .queryParam("tamanho", 1)
+            .queryParam("cursor", proximoCursor)
+        .when()
+            .get("/search")
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.OK.value())
+            .body("conteudo.size()", equalTo(1))
+            .body("conteudo[0].nome", equalTo("Josefina Souza"))
+            .body("proximoCursor", nullValue());
+    }
+
+    @Test
+    void deveRetornar400_QuandoBuscaNaoTiverTermo() {
+        given()
+            .queryParam("q", " ")
+        .when()
+            .get("/search")
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.BAD_REQUEST.value());
+    }
+
+    @Test
+    void deveRetornar400_QuandoCursorDaBuscaPassarDaProfundidadeMaxima() {
+        given()
+            .queryParam("q", "jose")
+            .queryParam("cursor", 1_000_000_000)
+        .when()
+            .get("/search")
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.BAD_REQUEST.value());
+    }
+
+    @Test
+    void deveRetornar304_EnquantoPessoaEEnderecosNaoMudarem() {
+        pessoa1 = pessoaService.salvar(pessoa1);
+        endereco1 = pessoaService.adicionarEndereco(pessoa1.getId(), endereco1);
+
+        String etag =
+        given()
+            .pathParam("id", pessoa1.getId())
+        .when()
+            .get("/{id}")
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.OK.value())
+        .extract().header("ETag");
+
+        given()
+            .pathParam("id", pessoa1.getId())
+            .header("If-None-Match", etag)
+        .when()
+            .get("/{id}")
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.NOT_MODIFIED.value())
+            .header("ETag", equalTo(etag))
+            .body(is(emptyString()));
+
+        pessoaService.atualizarEndereco(pessoa1.getId(), endereco1.getId(), endereco2);
+
+        given()
+            .pathParam("id", pessoa1.getId())
+            .header("If-None-Match", etag)
+        .when()
+            .get("/{id}")
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.OK.value())
+            .header("ETag", not(equalTo(etag)))
+            .body("enderecos[0].logradouro", equalTo(endereco2.getLogradouro()));
+    }
+
+    @Test
+    void deveRetornar412_QuandoAtualizarComIfMatchDesatualizado() {
+        pessoa1 = pessoaService.salvar(pessoa1);
+        String etag =
+        given()
+            .pathParam("id", pessoa1.getId())
+        .when()
+            .get("/{id}")
+        .then()
+            .statusCode(HttpStatus.OK.value())
+        .extract().header("ETag");
+
+        String novaEtag =
+        given()
+            .contentType(ContentType.JSON)
+            .pathParam("id", pessoa1.getId())
+            .header("If-Match", etag)
+            .body(pessoa2)
+        .when()
+            .put("/{id}")
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.OK.value())
+            .header("ETag", not(equalTo(etag)))
+        .extract().header("ETag");
+
+        given()
+            .contentType(ContentType.JSON)
+            .pathParam("id", pessoa1.getId())
+            .header("If-Match", etag)
+            .body(pessoa1)
+        .when()
+            .put("/{id}")
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.PRECONDITION_FAILED.value());
+
+        given()
+            .pathParam("id", pessoa1.getId())
+            .header("If-Match", etag)
+        .when()
+            .delete("/{id}")
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.PRECONDITION_FAILED.value());
+
+        given()
+            .pathParam("id", pessoa1.getId())
+            .header("If-Match", novaEtag)
+        .when()
+            .delete("/{id}")
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.NO_CONTENT.value());
+    }
+
+    @Test
+    void deveAceitarIfMatchComListaDeEtags_QuandoAlgumaForAAtual() {
+        pessoa1 = pessoaService.salvar(pessoa1);
+        String etag =
+        given()
+            .pathParam("id", pessoa1.getId())
+        .when()
+            .get("/{id}")
+        .then()
+            .statusCode(HttpStatus.OK.value())
+        .extract().header("ETag");
+
+        given()
+            .pathParam("id", pessoa1.getId())
+            .header("If-Match", "W/" + etag + ", \"versao-antiga\"")
+        .when()
+            .delete("/{id}")
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.PRECONDITION_FAILED.value());
+
+        given()
+            .pathParam("id", pessoa1.getId())
+            .header("If-Match", "\"versao-antiga\", " + etag)
+        .when()
+            .delete("/{id}")
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.NO_CONTENT.value());
     }
 
     @Test
@@ -192,6 +483,49 @@ class PessoaControllerTest {
             .body("enderecoPrincipal", nullValue());
     }
 
+    @Test
+    void deveAlterarSoOsCamposInformados_QuandoPatch() {
+        pessoa1 = pessoaService.salvar(pessoa1);
+
+        given()
+            .pathParam("id", pessoa1.getId())
+            .body("{\"nome\": \"Beltrano\"}")
+            .contentType(PessoaController.APPLICATION_MERGE_PATCH_JSON_VALUE)
+        .when()
+            .patch("/{id}")
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.OK.value())
+            .header("ETag", not(emptyString()))
+            .body("nome", equalTo("Beltrano"))
+            .body("dataNascimento", equalTo(pessoa1.getDataNascimento().toString()));
+
+        given()
+            .pathParam("id", pessoa1.getId())
+            .body("{\"nome\": \" \"}")
+            .contentType(ContentType.JSON)
+        .when()
+            .patch("/{id}")
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.BAD_REQUEST.value());
+    }
+
+    @Test
+    void deveSerializarEnderecoPrincipal_AposOCommit_QuandoPatch() {
+        pessoa1 = pessoaService.salvar(pessoa1);
+        endereco1 = pessoaService.adicionarEndereco(pessoa1.getId(), endereco1);
+
+        given()
+            .pathParam("id", pessoa1.getId())
+            .body("{\"nome\": \"Beltrano\"}")
+            .contentType(PessoaController.APPLICATION_MERGE_PATCH_JSON_VALUE)
+        .when()
+            .patch("/{id}")
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.OK.value())
+            .body("enderecoPrincipal.id", equalTo(endereco1.getId().intValue()))
+            .body("enderecoPrincipal.logradouro", equalTo(endereco1.getLogradouro()));
+    }
+
     @Test
     void deveAdicionarUmEnderecoAUmaPessoaERetornar201() {
         pessoaRepository.save(pessoa1);
@@ -287,6 +621,87 @@ class PessoaControllerTest {
             .body("size()", equalTo(0));
     }
 
+    @Test
+    void deveSubstituirTodosOsEnderecos_MantendoOPrincipalSeNaoForRemovido() {
+        pessoa1.setId(null);
+        pessoa1 = pessoaService.salvar(pessoa1);
+        pessoaService.adicionarEndereco(pessoa1.getId(), endereco1);
+        pessoaService.adicionarEndereco(pessoa1.getId(), endereco2);
+        String corpo = """
+                [
+                  {"id": %d, "logradouro": "Rua Nova", "cep": "11111-111", "numero": 10, "cidade": "Cidade A"},
+                  {"logradouro": "Rua C", "cep": "33333-333", "numero": 3, "cidade": "Cidade C"}
+                ]""".formatted(endereco1.getId());
+
+        given()
+            .pathParam("pessoaId", pessoa1.getId())
+            .contentType(ContentType.JSON)
+            .body(corpo)
+        .when()
+            .put("/{pessoaId}/enderecos")
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.OK.value())
+            .header("ETag", not(emptyString()))
+            .body("size()", equalTo(2))
+            .body("[0].id", equalTo(endereco1.getId().intValue()))
+            .body("[0].logradouro", equalTo("Rua Nova"))
+            .body("[1].logradouro", equalTo("Rua C"));
+
+        Pessoa pessoa = pessoaService.buscarPessoaPorId(pessoa1.getId());
+        assertThat(pessoa.getEnderecos()).extracting(Endereco::getNumero).containsExactly(10, 3);
+        assertThat(pessoa.getEnderecoPrincipal()).isEqualTo(endereco1);
+        assertThat(enderecoRepository.existsById(endereco2.getId())).isFalse();
+
+        given()
+            .pathParam("pessoaId", pessoa1.getId())
+            .contentType(ContentType.JSON)
+            .body("[{\"logradouro\": \"Rua D\", \"cep\": \"4444\", \"numero\": 4, \"cidade\": \"Cidade D\"}]")
+        .when()
+            .put("/{pessoaId}/enderecos")
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.BAD_REQUEST.value());
+    }
+
+    @Test
+    void deveAplicarLoteDeEnderecos_ERejeitarEnderecoDeOutraPessoa() {
+        pessoa1.setId(null);
+        pessoa1 = pessoaService.salvar(pessoa1);
+        pessoaService.adicionarEndereco(pessoa1.getId(), endereco1);
+        pessoaService.adicionarEndereco(pessoa1.getId(), endereco2);
+        String corpo = """
+                {
+                  "incluir": [{"logradouro": "Rua C", "cep": "33333-333", "numero": 3, "cidade": "Cidade C"}],
+                  "alterar": {"%d": {"cep": "44444-444"}},
+                  "remover": [%d]
+                }""".formatted(endereco2.getId(), endereco1.getId());
+
+        given()
+            .pathParam("pessoaId", pessoa1.getId())
+            .contentType(ContentType.JSON)
+            .body(corpo)
+        .when()
+            .post("/{pessoaId}/enderecos/lote")
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.OK.value())
+            .body("size()", equalTo(2))
+            .body("[0].id", equalTo(endereco2.getId().intValue()))
+            .body("[0].cep", equalTo("44444-444"))
+            .body("[1].logradouro", equalTo("Rua C"));
+
+        assertThat(pessoaService.buscarPessoaPorId(pessoa1.getId()).getEnderecoPrincipal()).isEqualTo(endereco2);
+
+        pessoa2.setId(null);
+        pessoa2 = pessoaService.salvar(pessoa2);
+        given()
+            .pathParam("pessoaId", pessoa2.getId())
+            .contentType(ContentType.JSON)
+            .body("{\"remover\": [%d]}".formatted(endereco2.getId()))
+        .when()
+            .post("/{pessoaId}/enderecos/lote")
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.BAD_REQUEST.value());
+    }
+
     @Test
     void deveAtualizarEndereco() {
         pessoa1 = pessoaService.salvar(pessoa1);
@@ -317,4 +732,66 @@ class PessoaControllerTest {
             .body("cep", equalTo(endereco2.getCep()));
     }
 
-}
+    @Test
+    void deveImportarPessoasEmLoteAPartirDeUmArrayJson() {
+        String corpo = """
+                [
+                  {"nome": "Fulano", "dataNascimento": "1990-01-01",
+                   "enderecos": [{"logradouro": "Rua A", "cep": "11111-111", "numero": 1, "cidade": "Cidade A"},
+                                 {"logradouro": "Rua B", "cep": "22222-222", "numero": 2, "cidade": "Cidade B"}]},
+                  {"nome": "", "dataNascimento": "1990-01-01"},
+                  {"nome": "Ciclano", "dataNascimento": "1992-02-02"}
+                ]
+                """;
+
+        String relatorio =
+        given()
+            .contentType(ContentType.JSON)
+            .accept(PessoaController.APPLICATION_NDJSON_VALUE)
+            .body(corpo)
+        .when()
+            .post("/importacao")
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.OK.value())
+        .extract().asString();
+
+        assertThat(relatorio.lines()).satisfiesExactlyInAnyOrder(
+                linha -> assertThat(linha).isEqualTo("{\"indice\":1,\"erros\":[\"nome: must not be blank\"]}"),
+                linha -> assertThat(linha).startsWith("{\"indice\":0,\"id\":"),
+                linha -> assertThat(linha).startsWith("{\"indice\":2,\"id\":"));
+
+        Pessoa fulano = pessoaService.buscarPessoaPorId(pessoaRepository.findAll().get(0).getId());
+        assertThat(fulano.getNome()).isEqualTo("Fulano");
+        assertThat(fulano.getEnderecos()).extracting(Endereco::getLogradouro).containsExactly("Rua A", "Rua B");
+        assertThat(fulano.getEnderecoPrincipal().getLogradouro()).isEqualTo("Rua A");
+        assertThat(pessoaRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void deveImportarPessoasEmLoteAPartirDeNdjson_RejeitandoItensInvalidos() {
+        String corpo = """
+                {"nome": "Fulano", "dataNascimento": "1990-01-01"}
+                {"nome": "Beltrano", "dataNascimento": "data-invalida"}
+                {"nome": "Ciclano", "dataNascimento": "1992-02-02", "enderecos": [{"logradouro": "Rua A", "cep": "123", "numero": 1, "cidade": "Cidade A"}]}
+                {"nome": "Outro", "dataNascimento": "1993-03-03"}
+                """;
+
+        String relatorio =
+        given()
+            .contentType(PessoaController.APPLICATION_NDJSON_VALUE)
+            .body(corpo.getBytes(StandardCharsets.UTF_8))
+        .when()
+            .post("/importacao")
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.OK.value())
+        .extract().asString();
+
+        assertThat(relatorio.lines()).satisfiesExactlyInAnyOrder(
+                linha -> assertThat(linha).startsWith("{\"indice\":1,\"erros\":["),
+                linha -> assertThat(linha).isEqualTo("{\"indice\":2,\"erros\":[\"enderecos[0].cep: CEP inválido\"]}"),
+                linha -> assertThat(linha).startsWith("{\"indice\":0,\"id\":"),
+                linha -> assertThat(linha).startsWith("{\"indice\":3,\"id\":"));
+        assertThat(pessoaRepository.count()).isEqualTo(2);
+    }
+
+}
\ No newline at end of file
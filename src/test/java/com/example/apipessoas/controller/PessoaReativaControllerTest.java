@@ -0,0 +1,253 @@
+package com.example.apipessoas.controller;
+
+import com.example.apipessoas.config.ReativoConfig;
+import com.example.apipessoas.model.Endereco;
+import com.example.apipessoas.model.Pessoa;
+import com.example.apipessoas.service.PessoaService;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.emptyString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+
+// O tipo de aplicação precisa estar no próprio teste para que o servidor suba como reativo. O banco próprio evita que
+// o esquema criado por este contexto substitua o dos contextos de outros testes
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.main.web-application-type=reactive",
+                "spring.datasource.url=jdbc:h2:mem:reativo",
+                "spring.r2dbc.url=r2dbc:h2:mem:///reativo"
+        }
+)
+@ActiveProfiles(ReativoConfig.PERFIL)
+class PessoaReativaControllerTest {
+
+    @LocalServerPort
+    private int port;
+
+    private String baseUrl;
+
+    @Autowired
+    private PessoaService pessoaService;
+
+    @BeforeEach
+    public void setUp() {
+        RestAssured.baseURI = "http://localhost";
+        RestAssured.port = port;
+        RestAssured.basePath = PessoaController.PATH;
+        baseUrl = RestAssured.baseURI + ":" + RestAssured.port + RestAssured.basePath;
+    }
+
+    @Test
+    void deveSalvarUmaPessoaEAdicionarEndereco() {
+        Integer pessoaId =
+        given()
+            .contentType(ContentType.JSON)
+            .body(novaPessoa("Fulano"))
+        .when()
+            .post()
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.CREATED.value())
+            .body("nome", equalTo("Fulano"))
+            .body("enderecoPrincipal", nullValue())
+        .extract().path("id");
+        given()
+            .pathParam("id", pessoaId)
+            .contentType(ContentType.JSON)
+            .body(novoEndereco("Rua A"))
+        .when()
+            .post("/{id}/enderecos")
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.CREATED.value())
+            .header("Location", equalTo(baseUrl + "/" + pessoaId + "/enderecos/" + enderecoId(pessoaId)))
+            .body("logradouro", equalTo("Rua A"));
+
+        given()
+            .pathParam("id", pessoaId)
+        .when()
+            .get("/{id}")
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.OK.value())
+            .body("enderecos.size()", equalTo(1))
+            .body("enderecoPrincipal.logradouro", equalTo("Rua A"))
+            .body("resumoEnderecoPrincipal.cep", equalTo("11111-111"));
+    }
+
+    @Test
+    void deveListarPessoasPaginandoPorCursor() {
+        Pessoa primeira = pessoaService.salvar(novaPessoa("Fulano"));
+        Pessoa segunda = pessoaService.salvar(novaPessoa("Ciclano"));
+        pessoaService.adicionarEndereco(segunda.getId(), novoEndereco("Rua B"));
+
+        String proximoCursor =
+        given()
+            .queryParam("tamanho", 1)
+            .queryParam("cursor", primeira.getId() - 1)
+        .when()
+            .get()
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.OK.value())
+            .body("conteudo.size()", equalTo(1))
+            .body("conteudo[0].id", equalTo(primeira.getId().intValue()))
+            .body("proximoCursor", equalTo(primeira.getId().toString()))
+        .extract().path("proximoCursor");
+
+        given()
+            .queryParam("tamanho", 1)
+            .queryParam("cursor", proximoCursor)
+        .when()
+            .get()
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.OK.value())
+            .body("conteudo[0].id", equalTo(segunda.getId().intValue()))
+            .body("conteudo[0].enderecos[0].logradouro", equalTo("Rua B"))
+            .body("conteudo[0].enderecoPrincipal.logradouro", equalTo("Rua B"));
+    }
+
+    @Test
+    void deveRetornar400_QuandoTamanhoDaPaginaForInvalido() {
+        given()
+            .queryParam("tamanho", PessoaController.TAMANHO_MAXIMO_PAGINA + 1)
+        .when()
+            .get()
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.BAD_REQUEST.value());
+    }
+
+    @Test
+    void deveTransmitirPessoasEmNdjson_EmVariasPaginas() {
+        int quantidade = Pessoa.TAMANHO_LOTE_ENDERECOS + 1;
+        for (int i = 0; i < quantidade; i++) {
+            Pessoa pessoa = pessoaService.salvar(novaPessoa("Transmitida " + i));
+            pessoaService.adicionarEndereco(pessoa.getId(), novoEndereco("Rua " + i));
+        }
+
+        String corpo =
+        given()
+            .accept(PessoaController.APPLICATION_NDJSON_VALUE)
+        .when()
+            .get()
+        .then().assertThat()
+            .statusCode(HttpStatus.OK.value())
+        .extract().asString();
+
+        assertThat(corpo.lines().filter(linha -> linha.contains("\"nome\":\"Transmitida ")))
+                .hasSize(quantidade)
+                .allSatisfy(linha -> assertThat(linha).contains("\"enderecoPrincipal\":{"));
+    }
+
+    @Test
+    void deveRetornar304_EnquantoPessoaEEnderecosNaoMudarem() {
+        Pessoa pessoa = pessoaService.salvar(novaPessoa("Fulano"));
+        Endereco endereco = pessoaService.adicionarEndereco(pessoa.getId(), novoEndereco("Rua A"));
+
+        String etag =
+        given()
+            .pathParam("id", pessoa.getId())
+        .when()
+            .get("/{id}")
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.OK.value())
+        .extract().header("ETag");
+
+        given()
+            .pathParam("id", pessoa.getId())
+            .header("If-None-Match", etag)
+        .when()
+            .get("/{id}")
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.NOT_MODIFIED.value())
+            .header("ETag", equalTo(etag))
+            .body(is(emptyString()));
+
+        pessoaService.atualizarEndereco(pessoa.getId(), endereco.getId(), novoEndereco("Rua B"));
+
+        given()
+            .pathParam("id", pessoa.getId())
+            .header("If-None-Match", etag)
+        .when()
+            .get("/{id}")
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.OK.value())
+            .header("ETag", not(equalTo(etag)))
+            .body("enderecos[0].logradouro", equalTo("Rua B"));
+    }
+
+    @Test
+    void deveRetornar404_QuandoPessoaOuEnderecoNaoExistirem() {
+        Pessoa pessoa = pessoaService.salvar(novaPessoa("Fulano"));
+
+        given()
+            .pathParam("id", 12345L)
+        .when()
+            .get("/{id}")
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.NOT_FOUND.value());
+
+        given()
+            .pathParam("id", 12345L)
+        .when()
+            .get("/{id}/enderecos")
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.NOT_FOUND.value());
+
+        given()
+            .pathParam("pessoaId", pessoa.getId())
+            .pathParam("enderecoId", 12345L)
+        .when()
+            .get("/{pessoaId}/enderecos/{enderecoId}")
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.NOT_FOUND.value());
+    }
+
+    @Test
+    void deveRetornar412_QuandoAtualizarComIfMatchDesatualizado() {
+        Pessoa pessoa = pessoaService.salvar(novaPessoa("Fulano"));
+
+        given()
+            .pathParam("id", pessoa.getId())
+            .header("If-Match", "\"desatualizada\"")
+            .contentType(ContentType.JSON)
+            .body(novaPessoa("Outro nome"))
+        .when()
+            .put("/{id}")
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.PRECONDITION_FAILED.value());
+    }
+
+    private Long enderecoId(Integer pessoaId) {
+        return pessoaService.listarEnderecos(pessoaId.longValue()).get(0).getId();
+    }
+
+    private static Pessoa novaPessoa(String nome) {
+        return Pessoa.builder()
+                .nome(nome)
+                .dataNascimento(LocalDate.of(1990, 1, 1))
+                .build();
+    }
+
+    private static Endereco novoEndereco(String logradouro) {
+        return Endereco.builder()
+                .logradouro(logradouro)
+                .cep("11111-111")
+                .numero(1)
+                .cidade("Cidade")
+                .build();
+    }
+
+}
@@ -0,0 +1,141 @@
+package com.example.apipessoas.controller;
+
+import com.example.apipessoas.dto.AlteracaoEndereco;
+import com.example.apipessoas.model.Endereco;
+import com.example.apipessoas.model.Pessoa;
+import com.example.apipessoas.service.PessoaService;
+import io.restassured.RestAssured;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDate;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "api-pessoas.sincronizacao.margem=0s"
+)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class SincronizacaoControllerTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private PessoaService pessoaService;
+
+    @BeforeEach
+    public void setUp() {
+        RestAssured.baseURI = "http://localhost";
+        RestAssured.port = port;
+        RestAssured.basePath = PessoaController.PATH + "/sync";
+    }
+
+    @Test
+    void deveDevolverSoAsAlteracoesDesdeAMarca() {
+        Pessoa fulano = pessoaService.salvar(novaPessoa("Fulano"));
+        Pessoa beltrano = pessoaService.salvar(novaPessoa("Beltrano"));
+        Endereco endereco = pessoaService.adicionarEndereco(fulano.getId(), novoEndereco());
+
+        String marca = given()
+        .when()
+            .get()
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.OK.value())
+            .body("pessoas.id", containsInAnyOrder(fulano.getId().intValue(), beltrano.getId().intValue()))
+            .body("enderecos.id", contains(endereco.getId().intValue()))
+            .body("remocoes", empty())
+            .body("completa", equalTo(true))
+            .extract().path("marca");
+
+        pessoaService.alterarEndereco(fulano.getId(), endereco.getId(),
+                new AlteracaoEndereco("Rua B", null, null, null), null);
+        pessoaService.remover(beltrano.getId());
+
+        given()
+            .queryParam("since", marca)
+        .when()
+            .get()
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.OK.value())
+            .body("pessoas", empty())
+            .body("enderecos.logradouro", contains("Rua B"))
+            .body("remocoes.tipo", contains("PESSOA_REMOVIDA"))
+            .body("remocoes[0].pessoaId", equalTo(beltrano.getId().intValue()))
+            .body("completa", equalTo(true));
+    }
+
+    @Test
+    void devePaginarCadaLista_QuandoHouverMaisAlteracoesQueOTamanho() {
+        pessoaService.salvar(novaPessoa("Fulano"));
+        pessoaService.salvar(novaPessoa("Beltrano"));
+
+        String marca = given()
+            .queryParam("tamanho", 1)
+        .when()
+            .get()
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.OK.value())
+            .body("pessoas", hasSize(1))
+            .body("completa", equalTo(false))
+            .extract().path("marca");
+
+        given()
+            .queryParam("since", marca)
+            .queryParam("tamanho", 1)
+        .when()
+            .get()
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.OK.value())
+            .body("pessoas", hasSize(1))
+            .body("completa", equalTo(true));
+    }
+
+    @Test
+    void deveRetornar400_QuandoMarcaInvalida() {
+        given()
+            .queryParam("since", "abc")
+        .when()
+            .get()
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.BAD_REQUEST.value());
+    }
+
+    @Test
+    void deveRetornar410_QuandoMarcaAnteriorARetencao() {
+        given()
+            .queryParam("since", "0:0,0:0,0:0")
+        .when()
+            .get()
+        .then().log().all().assertThat()
+            .statusCode(HttpStatus.GONE.value());
+    }
+
+    private static Pessoa novaPessoa(String nome) {
+        return Pessoa.builder()
+                .nome(nome)
+                .dataNascimento(LocalDate.of(1990, 1, 1))
+                .build();
+    }
+
+    private static Endereco novoEndereco() {
+        return Endereco.builder()
+                .logradouro("Rua A")
+                .cep("11111-111")
+                .numero(1)
+                .cidade("Cidade")
+                .build();
+    }
+
+}
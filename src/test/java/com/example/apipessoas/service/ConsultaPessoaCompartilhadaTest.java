@@ -0,0 +1,156 @@
+package com.example.apipessoas.service;
+
+import com.example.apipessoas.dto.PessoaDTO;
+import com.example.apipessoas.event.AlteracaoPessoaEvento;
+import com.example.apipessoas.event.TipoAlteracao;
+import com.example.apipessoas.exception.PessoaNaoEncontradaException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ConsultaPessoaCompartilhadaTest {
+
+	private static final int THREADS = 20;
+
+	@Mock
+	private PessoaService pessoaService;
+
+	@InjectMocks
+	private ConsultaPessoaCompartilhada consulta;
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+	private final PessoaDTO pessoa = pessoa("Fulano");
+
+	private final PessoaDTO pessoaAlterada = pessoa("Ciclano");
+
+	@BeforeEach
+	public void setUp() {
+		ReflectionTestUtils.setField(consulta, "validade", Duration.ofMinutes(1));
+		ReflectionTestUtils.setField(consulta, "primarioAposAlteracao", Duration.ofMinutes(1));
+	}
+
+	@AfterEach
+	public void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void deveConsultarOBancoUmaVez_QuandoMuitasRequisicoesBuscaremAMesmaPessoa() throws Exception {
+		CountDownLatch liberar = new CountDownLatch(1);
+		when(pessoaService.consultarPessoa(1L)).thenAnswer(invocacao -> {
+			liberar.await();
+			return pessoa;
+		});
+
+		List<Future<PessoaDTO>> resultados = new ArrayList<>();
+		for (int i = 0; i < THREADS; i++) {
+			resultados.add(executor.submit(() -> consulta.consultar(1L)));
+		}
+		liberar.countDown();
+
+		for (Future<PessoaDTO> resultado : resultados) {
+			assertThat(resultado.get(10, TimeUnit.SECONDS)).isSameAs(pessoa);
+		}
+		verify(pessoaService, times(1)).consultarPessoa(1L);
+	}
+
+	@Test
+	void deveConsultarDeNovo_NoPrimario_AposAlteracaoDaPessoa() {
+		when(pessoaService.consultarPessoa(1L)).thenReturn(pessoa);
+		when(pessoaService.consultarPessoaNoPrimario(1L)).thenReturn(pessoaAlterada);
+
+		assertThat(consulta.consultar(1L)).isSameAs(pessoa);
+		assertThat(consulta.consultar(1L)).isSameAs(pessoa);
+		consulta.aoAlterarPessoa(new AlteracaoPessoaEvento(TipoAlteracao.ENDERECO_ALTERADO, 1L, 10L));
+
+		assertThat(consulta.consultar(1L)).isSameAs(pessoaAlterada);
+		verify(pessoaService, times(1)).consultarPessoa(1L);
+		verify(pessoaService, times(1)).consultarPessoaNoPrimario(1L);
+	}
+
+	@Test
+	void deveVoltarAConsultarNaReplica_AposOPrazoDaAlteracao() throws Exception {
+		ReflectionTestUtils.setField(consulta, "validade", Duration.ZERO);
+		ReflectionTestUtils.setField(consulta, "primarioAposAlteracao", Duration.ofMillis(100));
+		when(pessoaService.consultarPessoaNoPrimario(1L)).thenReturn(pessoaAlterada);
+		when(pessoaService.consultarPessoa(1L)).thenReturn(pessoaAlterada);
+
+		consulta.aoAlterarPessoa(AlteracaoPessoaEvento.daPessoa(TipoAlteracao.PESSOA_ALTERADA, 1L));
+		consulta.consultar(1L);
+		Thread.sleep(500);
+		consulta.consultar(1L);
+
+		verify(pessoaService, times(1)).consultarPessoaNoPrimario(1L);
+		verify(pessoaService, times(1)).consultarPessoa(1L);
+	}
+
+	@Test
+	void naoDeveGuardarConsultaEmAndamento_QuandoAPessoaForAlteradaDuranteEla() throws Exception {
+		CountDownLatch consultando = new CountDownLatch(1);
+		CountDownLatch liberar = new CountDownLatch(1);
+		when(pessoaService.consultarPessoa(1L))
+				.thenAnswer(invocacao -> {
+					consultando.countDown();
+					liberar.await();
+					return pessoa;
+				});
+		when(pessoaService.consultarPessoaNoPrimario(1L)).thenReturn(pessoaAlterada);
+
+		Future<PessoaDTO> anterior = executor.submit(() -> consulta.consultar(1L));
+		consultando.await(10, TimeUnit.SECONDS);
+		consulta.aoAlterarPessoa(AlteracaoPessoaEvento.daPessoa(TipoAlteracao.PESSOA_ALTERADA, 1L));
+		liberar.countDown();
+
+		assertThat(anterior.get(10, TimeUnit.SECONDS)).isSameAs(pessoa);
+		assertThat(consulta.consultar(1L)).isSameAs(pessoaAlterada);
+	}
+
+	@Test
+	void deveConsultarVersaoNoPrimario_AposAlteracaoDaPessoa() {
+		when(pessoaService.consultarVersao(1L)).thenReturn("0.0");
+		when(pessoaService.consultarVersaoNoPrimario(1L)).thenReturn("1.0");
+
+		assertThat(consulta.consultarVersao(1L)).isEqualTo("0.0");
+		consulta.aoAlterarPessoa(AlteracaoPessoaEvento.daPessoa(TipoAlteracao.PESSOA_ALTERADA, 1L));
+
+		assertThat(consulta.consultarVersao(1L)).isEqualTo("1.0");
+	}
+
+	@Test
+	void naoDeveGuardarErro() {
+		when(pessoaService.consultarPessoa(1L))
+				.thenThrow(new PessoaNaoEncontradaException(1L))
+				.thenReturn(pessoa);
+
+		assertThatThrownBy(() -> consulta.consultar(1L)).isInstanceOf(PessoaNaoEncontradaException.class);
+		assertThat(consulta.consultar(1L)).isSameAs(pessoa);
+	}
+
+	private static PessoaDTO pessoa(String nome) {
+		return new PessoaDTO(1L, nome, LocalDate.of(1990, 1, 1), List.of(), null, 0);
+	}
+
+}
@@ -0,0 +1,97 @@
+package com.example.apipessoas.service;
+
+import com.example.apipessoas.repository.NomePessoa;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IndiceNomesPessoasTest {
+
+	private IndiceNomesPessoas indice;
+
+	@BeforeEach
+	public void setUp() {
+		indice = new IndiceNomesPessoas();
+		indice.indexar(1L, "José da Silva");
+		indice.indexar(2L, "Maria José Souza");
+		indice.indexar(3L, "Josefina Antunes");
+		indice.indexar(4L, "João Silveira");
+	}
+
+	@Test
+	void deveEncontrarPorPrefixo_SemDiferenciarMaiusculasEAcentos() {
+		assertThat(indice.buscar("JOSE", 0, 10)).containsExactlyInAnyOrder(1L, 2L, 3L);
+		assertThat(indice.buscar("joão", 0, 10)).containsExactly(4L);
+	}
+
+	@Test
+	void deveExigirTodosOsTermosDaConsulta() {
+		assertThat(indice.buscar("jo silv", 0, 10)).containsExactlyInAnyOrder(1L, 4L);
+		assertThat(indice.buscar("jose souza", 0, 10)).containsExactly(2L);
+		assertThat(indice.buscar("jose pereira", 0, 10)).isEmpty();
+	}
+
+	@Test
+	void deveOrdenarPorTermosExatos_DepoisPeloNomeMaisCurto() {
+		assertThat(indice.buscar("jose", 0, 10)).containsExactly(1L, 2L, 3L);
+	}
+
+	@Test
+	void devePaginarOsResultados() {
+		assertThat(indice.buscar("jose", 0, 2)).containsExactly(1L, 2L);
+		assertThat(indice.buscar("jose", 2, 2)).containsExactly(3L);
+		assertThat(indice.buscar("jose", 3, 2)).isEmpty();
+	}
+
+	@Test
+	void devePararNaProfundidadeMaxima() {
+		for (long id = 10; id < 10 + IndiceNomesPessoas.PROFUNDIDADE_MAXIMA; id++) {
+			indice.indexar(id, "Ana " + id);
+		}
+
+		assertThat(indice.buscar("ana", IndiceNomesPessoas.PROFUNDIDADE_MAXIMA - 1, 21)).hasSize(1);
+		assertThat(indice.buscar("ana", 1_000_000_000, 21)).isEmpty();
+		assertThat(indice.buscar("ana", Integer.MAX_VALUE - 5, 21)).isEmpty();
+	}
+
+	@Test
+	void deveRetornarVazio_QuandoConsultaNaoTiverTermos() {
+		assertThat(indice.buscar(" - ", 0, 10)).isEmpty();
+	}
+
+	@Test
+	void deveReindexarPessoaAtualizada() {
+		indice.indexar(1L, "Pedro Alves");
+
+		assertThat(indice.buscar("jose", 0, 10)).containsExactlyInAnyOrder(2L, 3L);
+		assertThat(indice.buscar("pedro", 0, 10)).containsExactly(1L);
+	}
+
+	@Test
+	void deveRemoverPessoa() {
+		indice.remover(3L);
+
+		assertThat(indice.buscar("jose", 0, 10)).containsExactlyInAnyOrder(1L, 2L);
+		assertThat(indice.tamanho()).isEqualTo(3);
+	}
+
+	@Test
+	void devePreservarAlteracoesFeitasDuranteAReconstrucao() {
+		indice.iniciarReconstrucao();
+		indice.indexar(1L, "Pedro Alves");
+		indice.remover(2L);
+		indice.carregar(List.of(
+				new NomePessoa(1L, "José da Silva"),
+				new NomePessoa(2L, "Maria José Souza"),
+				new NomePessoa(3L, "Josefina Antunes")));
+		indice.concluirReconstrucao();
+
+		assertThat(indice.buscar("jose", 0, 10)).containsExactly(3L);
+		assertThat(indice.buscar("pedro", 0, 10)).containsExactly(1L);
+		assertThat(indice.tamanho()).isEqualTo(2);
+	}
+
+}
@@ -0,0 +1,156 @@
+package com.example.apipessoas.service;
+
+import com.example.apipessoas.exception.PessoaNaoEncontradaException;
+import com.example.apipessoas.model.Endereco;
+import com.example.apipessoas.model.Pessoa;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class PessoaServiceCacheTest {
+
+	@Autowired
+	private PessoaService pessoaService;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private Statistics statistics;
+
+	private Pessoa pessoa;
+
+	@BeforeEach
+	public void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		pessoa = pessoaService.salvar(Pessoa.builder()
+				.nome("Fulano")
+				.dataNascimento(LocalDate.of(1990, 1, 1))
+				.build());
+		pessoaService.adicionarEndereco(pessoa.getId(), novoEndereco("Rua A"));
+		pessoaService.adicionarEndereco(pessoa.getId(), novoEndereco("Rua B"));
+	}
+
+	@Test
+	void deveServirPessoaDoCache_QuandoJaTiverSidoLida() {
+		pessoaService.buscarPessoaPorId(pessoa.getId());
+		statistics.clear();
+
+		Pessoa pessoaLida = pessoaService.buscarPessoaPorId(pessoa.getId());
+
+		assertThat(pessoaLida.getEnderecos()).hasSize(2);
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+		assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+	}
+
+	@Test
+	void deveServirEnderecosDoCache_QuandoJaTiveremSidoLidos() {
+		pessoaService.listarEnderecos(pessoa.getId());
+		statistics.clear();
+
+		assertThat(pessoaService.listarEnderecos(pessoa.getId())).hasSize(2);
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+	}
+
+	@Test
+	void deveInvalidarCache_QuandoAtualizarPessoa() {
+		pessoaService.buscarPessoaPorId(pessoa.getId());
+
+		pessoaService.atualizar(pessoa.getId(), pessoa.withNome("Beltrano"));
+
+		assertThat(pessoaService.buscarPessoaPorId(pessoa.getId()).getNome()).isEqualTo("Beltrano");
+	}
+
+	@Test
+	void deveInvalidarCache_QuandoAdicionarERemoverEndereco() {
+		pessoaService.listarEnderecos(pessoa.getId());
+
+		Endereco enderecoNovo = pessoaService.adicionarEndereco(pessoa.getId(), novoEndereco("Rua C"));
+		assertThat(pessoaService.listarEnderecos(pessoa.getId()))
+				.extracting(Endereco::getLogradouro)
+				.containsExactly("Rua A", "Rua B", "Rua C");
+
+		pessoaService.removerEndereco(pessoa.getId(), enderecoNovo.getId());
+		assertThat(pessoaService.listarEnderecos(pessoa.getId()))
+				.extracting(Endereco::getLogradouro)
+				.containsExactly("Rua A", "Rua B");
+	}
+
+	@Test
+	void deveInvalidarCache_QuandoAtualizarEndereco() {
+		Endereco endereco = pessoaService.listarEnderecos(pessoa.getId()).get(0);
+		pessoaService.buscarEndereco(pessoa.getId(), endereco.getId());
+
+		pessoaService.atualizarEndereco(pessoa.getId(), endereco.getId(), novoEndereco("Rua Nova"));
+
+		assertThat(pessoaService.buscarEndereco(pessoa.getId(), endereco.getId()).getLogradouro())
+				.isEqualTo("Rua Nova");
+		assertThat(pessoaService.listarEnderecos(pessoa.getId()))
+				.extracting(Endereco::getLogradouro)
+				.contains("Rua Nova");
+	}
+
+	@Test
+	void deveInvalidarCache_QuandoDefinirEnderecoPrincipal() {
+		Endereco segundoEndereco = pessoaService.listarEnderecos(pessoa.getId()).get(1);
+		pessoaService.buscarPessoaPorId(pessoa.getId());
+
+		pessoaService.definirEnderecoPrincipal(pessoa.getId(), segundoEndereco.getId());
+
+		assertThat(pessoaService.buscarPessoaPorId(pessoa.getId()).getEnderecoPrincipal())
+				.isEqualTo(segundoEndereco);
+	}
+
+	@Test
+	void deveInvalidarCache_QuandoRemoverPessoa() {
+		pessoaService.buscarPessoaPorId(pessoa.getId());
+
+		pessoaService.remover(pessoa.getId());
+
+		assertThatThrownBy(() -> pessoaService.buscarPessoaPorId(pessoa.getId()))
+				.isInstanceOf(PessoaNaoEncontradaException.class);
+	}
+
+	@Test
+	void devePublicarMetricasDeAcertoEFalhaDoCache() {
+		pessoaService.buscarPessoaPorId(pessoa.getId());
+		pessoaService.buscarPessoaPorId(pessoa.getId());
+
+		assertThat(meterRegistry.get("hibernate.second.level.cache.requests")
+				.tag("region", Pessoa.class.getName())
+				.tag("result", "hit")
+				.functionCounter()
+				.count())
+				.isPositive();
+		assertThat(meterRegistry.find("hibernate.second.level.cache.requests")
+				.tag("result", "miss")
+				.functionCounter())
+				.isNotNull();
+	}
+
+	private Endereco novoEndereco(String logradouro) {
+		return Endereco.builder()
+				.logradouro(logradouro)
+				.cep("11111-111")
+				.numero(1)
+				.cidade("Cidade")
+				.build();
+	}
+
+}
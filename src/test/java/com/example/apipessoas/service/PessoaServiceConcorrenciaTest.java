@@ -0,0 +1,91 @@
+package com.example.apipessoas.service;
+
+import com.example.apipessoas.dto.AlteracaoEndereco;
+import com.example.apipessoas.model.Endereco;
+import com.example.apipessoas.model.Pessoa;
+import com.example.apipessoas.model.ResumoEndereco;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+// As escritas na mesma pessoa são serializadas; com mais threads que conexões, a espera por uma conexão é longa. O
+// banco próprio evita que o esquema criado por este contexto substitua o dos contextos de outros testes
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:concorrencia",
+		"spring.datasource.hikari.connection-timeout=120000"
+})
+class PessoaServiceConcorrenciaTest {
+
+	private static final int THREADS = 200;
+
+	@Autowired
+	private PessoaService pessoaService;
+
+	@Test
+	void deveManterEnderecoPrincipalConsistente_QuandoMuitasThreadsAlterarAMesmaPessoa() throws Exception {
+		Long pessoaId = pessoaService.salvar(Pessoa.builder()
+				.nome("Fulano")
+				.dataNascimento(LocalDate.of(1990, 1, 1))
+				.build()).getId();
+		CountDownLatch largada = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		List<Future<Integer>> tarefas = new ArrayList<>(THREADS);
+		for (int i = 0; i < THREADS; i++) {
+			int thread = i;
+			tarefas.add(executor.submit(() -> {
+				largada.await();
+				return alterarEnderecos(pessoaId, thread);
+			}));
+		}
+
+		long inicio = System.nanoTime();
+		largada.countDown();
+		int operacoes = 0;
+		for (Future<Integer> tarefa : tarefas) {
+			operacoes += tarefa.get(2, TimeUnit.MINUTES);
+		}
+		Duration duracao = Duration.ofNanos(System.nanoTime() - inicio);
+		executor.shutdown();
+		log.info("{} escritas concorrentes na mesma pessoa em {} ms ({} por segundo)", operacoes,
+				duracao.toMillis(), operacoes * 1000L / Math.max(duracao.toMillis(), 1));
+
+		Pessoa pessoa = pessoaService.buscarPessoaPorId(pessoaId);
+		assertThat(pessoa.getEnderecos()).hasSize(THREADS);
+		assertThat(pessoa.getEnderecos()).contains(pessoa.getEnderecoPrincipal());
+		assertThat(pessoa.getResumoEnderecoPrincipal()).isEqualTo(ResumoEndereco.de(pessoa.getEnderecoPrincipal()));
+	}
+
+	private int alterarEnderecos(Long pessoaId, int thread) {
+		Endereco primeiro = pessoaService.adicionarEndereco(pessoaId, novoEndereco("Rua " + thread + "-1"));
+		Endereco segundo = pessoaService.adicionarEndereco(pessoaId, novoEndereco("Rua " + thread + "-2"));
+		pessoaService.definirEnderecoPrincipal(pessoaId, primeiro.getId());
+		pessoaService.alterarEndereco(pessoaId, primeiro.getId(),
+				new AlteracaoEndereco(null, String.format("%05d-000", thread), null, null), null);
+		pessoaService.removerEndereco(pessoaId, segundo.getId());
+		return 5;
+	}
+
+	private Endereco novoEndereco(String logradouro) {
+		return Endereco.builder()
+				.logradouro(logradouro)
+				.cep("11111-111")
+				.numero(1)
+				.cidade("Cidade")
+				.build();
+	}
+
+}
@@ -1,27 +1,50 @@
 package com.example.apipessoas.service;
 
+import com.example.apipessoas.dto.AlteracaoEndereco;
+import com.example.apipessoas.dto.AlteracaoPessoa;
+import com.example.apipessoas.dto.EnderecoDTO;
+import com.example.apipessoas.dto.LoteEnderecos;
+import com.example.apipessoas.dto.PessoaDTO;
+import com.example.apipessoas.event.AlteracaoPessoaEvento;
+import com.example.apipessoas.event.PessoaRemovidaEvento;
+import com.example.apipessoas.event.PessoaSalvaEvento;
+import com.example.apipessoas.event.TipoAlteracao;
+import com.example.apipessoas.exception.CursorInvalidoException;
+import com.example.apipessoas.exception.EnderecoNaoEncontradoException;
 import com.example.apipessoas.exception.EnderecoNaoPertenceAPessoaException;
+import com.example.apipessoas.exception.LoteEnderecosInvalidoException;
 import com.example.apipessoas.exception.PessoaNaoEncontradaException;
+import com.example.apipessoas.exception.VersaoDesatualizadaException;
 import com.example.apipessoas.model.Endereco;
 import com.example.apipessoas.model.Pessoa;
+import com.example.apipessoas.model.ResumoEndereco;
 import com.example.apipessoas.repository.EnderecoRepository;
+import com.example.apipessoas.repository.LinhaPessoaEndereco;
 import com.example.apipessoas.repository.PessoaRepository;
+import com.example.apipessoas.repository.VersaoPessoa;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.PageRequest;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -37,6 +60,10 @@ class PessoaServiceTest {
 	@Mock(strictness = Mock.Strictness.LENIENT)
 	private EnderecoRepository enderecoRepository;
 
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
+
 	@InjectMocks
 	private PessoaService pessoaService;
 
@@ -52,22 +79,30 @@ class PessoaServiceTest {
 
 	private List<Pessoa> pessoas;
 
+	private EnderecoDTO enderecoDTO1;
+
+	private EnderecoDTO enderecoDTO2;
+
+	private List<PessoaDTO> pessoasDTO;
+
 	private final long pessoaIdInexistente = 12345L;
 
 	@BeforeEach
 	public void setUp() {
 		pessoa1 = new Pessoa();
 		pessoa1.setId(1L);
+		pessoa1.setUuid(UUID.randomUUID());
 		pessoa1.setNome("Fulano");
 		pessoa1.setDataNascimento(LocalDate.of(1990, 1, 1));
-		pessoa1.setEnderecos(new ArrayList<>());
+		pessoa1.setEnderecos(new LinkedHashSet<>());
 		pessoa1.setEnderecoPrincipal(new Endereco());
 
 		pessoa2 = new Pessoa();
 		pessoa2.setId(2L);
+		pessoa2.setUuid(UUID.randomUUID());
 		pessoa2.setNome("Ciclano");
 		pessoa2.setDataNascimento(LocalDate.of(1992, 2, 2));
-		pessoa2.setEnderecos(new ArrayList<>());
+		pessoa2.setEnderecos(new LinkedHashSet<>());
 		pessoa2.setEnderecoPrincipal(new Endereco());
 
 		endereco1 = new Endereco();
@@ -98,29 +133,122 @@ class PessoaServiceTest {
 
 		pessoas = new ArrayList<>(List.of(pessoa1, pessoa2));
 
+		enderecoDTO1 = new EnderecoDTO(1L, 1L, "Rua A", "11111-111", 1, "Cidade A", 0);
+		enderecoDTO2 = new EnderecoDTO(2L, 2L, "Rua B", "22222-222", 2, "Cidade B", 0);
+		pessoasDTO = List.of(
+				new PessoaDTO(1L, "Fulano", LocalDate.of(1990, 1, 1), List.of(), enderecoDTO1, 0),
+				new PessoaDTO(2L, "Ciclano", LocalDate.of(1992, 2, 2), List.of(), enderecoDTO2, 0));
+
 		when(pessoaRepository.save(any(Pessoa.class)))
 				.thenReturn(pessoa1);
-		when(pessoaRepository.findAll())
-				.thenReturn(pessoas);
+		when(pessoaRepository.listarDTOsAposId(anyLong(), any()))
+				.thenReturn(pessoasDTO);
 		when(pessoaRepository.findById(pessoa1.getId()))
 				.thenReturn(Optional.of(pessoa1));
 		when(pessoaRepository.findById(pessoaIdInexistente))
 				.thenThrow(new PessoaNaoEncontradaException(pessoaIdInexistente));
+		when(pessoaRepository.buscarParaAlteracao(pessoa1.getId()))
+				.thenReturn(Optional.of(pessoa1));
+		when(pessoaRepository.buscarParaAlteracao(pessoaIdInexistente))
+				.thenReturn(Optional.empty());
 		doThrow(EmptyResultDataAccessException.class)
 				.when(pessoaRepository).deleteById(pessoaIdInexistente);
 
 		when(enderecoRepository.findById(endereco1.getId()))
 				.thenReturn(Optional.ofNullable(endereco1));
+		when(enderecoRepository.findByIdAndPessoaId(endereco1.getId(), pessoa1.getId()))
+				.thenReturn(Optional.of(endereco1));
 		when(enderecoRepository.save(endereco3))
 				.thenReturn(endereco3);
+		when(enderecoRepository.listarDTOsPorPessoas(any()))
+				.thenReturn(List.of(enderecoDTO1, enderecoDTO2));
 	}
 
 	@Test
 	void deveListarPessoas() {
-		assertThat(pessoaService.listarPessoas())
-				.hasSize(2)
-				.usingRecursiveComparison()
-				.isEqualTo(pessoas);
+		assertThat(pessoaService.listarPessoas(null, 10).conteudo())
+				.containsExactly(
+						pessoasDTO.get(0).comEnderecos(List.of(enderecoDTO1)),
+						pessoasDTO.get(1).comEnderecos(List.of(enderecoDTO2)));
+		assertThat(pessoaService.listarPessoas(null, 10).proximoCursor()).isNull();
+		verify(pessoaRepository, times(2)).listarDTOsAposId(Long.MIN_VALUE, PageRequest.of(0, 11));
+		verify(enderecoRepository, times(2)).listarDTOsPorPessoas(List.of(1L, 2L));
+	}
+
+	@Test
+	void deveRetornarProximoCursor_QuandoExistiremMaisPessoasQueOTamanhoDaPagina() {
+		var pagina = pessoaService.listarPessoas("0", 1);
+
+		assertThat(pagina.conteudo()).extracting(PessoaDTO::id).containsExactly(pessoa1.getId());
+		assertThat(pagina.proximoCursor()).isEqualTo(String.valueOf(pessoa1.getId()));
+		verify(pessoaRepository).listarDTOsAposId(0L, PageRequest.of(0, 2));
+		verify(enderecoRepository).listarDTOsPorPessoas(List.of(pessoa1.getId()));
+	}
+
+	@Test
+	void naoDeveBuscarEnderecos_QuandoPaginaEstiverVazia() {
+		when(pessoaRepository.listarDTOsAposId(anyLong(), any())).thenReturn(List.of());
+
+		assertThat(pessoaService.listarPessoas(null, 10).conteudo()).isEmpty();
+		verify(enderecoRepository, never()).listarDTOsPorPessoas(any());
+	}
+
+	@Test
+	void deveConsultarPessoaComEnderecosEPrincipal() {
+		when(pessoaRepository.listarLinhasComEnderecos(pessoa1.getId())).thenReturn(List.of(
+				new LinhaPessoaEndereco(1L, "Fulano", LocalDate.of(1990, 1, 1), 0, 3L, 1L, "Rua A", "11111-111", 1, "Cidade A", 0L),
+				new LinhaPessoaEndereco(1L, "Fulano", LocalDate.of(1990, 1, 1), 0, 3L, 3L, "Rua C", "33333-333", 3, "Cidade C", 0L)));
+
+		PessoaDTO pessoa = pessoaService.consultarPessoa(pessoa1.getId());
+
+		EnderecoDTO enderecoDTO3 = new EnderecoDTO(3L, 1L, "Rua C", "33333-333", 3, "Cidade C", 0);
+		assertThat(pessoa).isEqualTo(new PessoaDTO(1L, "Fulano", LocalDate.of(1990, 1, 1),
+				List.of(enderecoDTO1, enderecoDTO3), enderecoDTO3, 0));
+		verify(pessoaRepository, never()).findById(any());
+	}
+
+	@Test
+	void deveConsultarPessoaSemEnderecos() {
+		when(pessoaRepository.listarLinhasComEnderecos(pessoa2.getId())).thenReturn(List.of(
+				new LinhaPessoaEndereco(2L, "Ciclano", LocalDate.of(1992, 2, 2), 0, null, null, null, null, null, null, null)));
+
+		assertThat(pessoaService.consultarPessoa(pessoa2.getId()))
+				.isEqualTo(new PessoaDTO(2L, "Ciclano", LocalDate.of(1992, 2, 2), List.of(), null, 0));
+	}
+
+	@Test
+	void deveLancarExcecao_QuandoConsultarPessoaInexistente() {
+		assertThatThrownBy(() -> pessoaService.consultarPessoa(pessoaIdInexistente))
+				.isInstanceOf(PessoaNaoEncontradaException.class);
+	}
+
+	@Test
+	void deveConsultarEnderecosSemVerificarAPessoa_QuandoHouverEnderecos() {
+		when(enderecoRepository.listarDTOsPorPessoa(pessoa1.getId())).thenReturn(List.of(enderecoDTO1));
+
+		assertThat(pessoaService.consultarEnderecos(pessoa1.getId())).containsExactly(enderecoDTO1);
+		verify(pessoaRepository, never()).existsById(any());
+	}
+
+	@Test
+	void deveLancarExcecao_QuandoConsultarEnderecosDePessoaInexistente() {
+		assertThatThrownBy(() -> pessoaService.consultarEnderecos(pessoaIdInexistente))
+				.isInstanceOf(PessoaNaoEncontradaException.class);
+	}
+
+	@Test
+	void deveLancarExcecao_QuandoConsultarEnderecoQueNaoPertenceAPessoa() {
+		when(pessoaRepository.existsById(pessoa1.getId())).thenReturn(true);
+		when(enderecoRepository.existsById(endereco2.getId())).thenReturn(true);
+
+		assertThatThrownBy(() -> pessoaService.consultarEndereco(pessoa1.getId(), endereco2.getId()))
+				.isInstanceOf(EnderecoNaoPertenceAPessoaException.class);
+	}
+
+	@Test
+	void deveLancarExcecao_QuandoCursorForInvalido() {
+		assertThatThrownBy(() -> pessoaService.listarPessoas("abc", 10))
+				.isInstanceOf(CursorInvalidoException.class);
 	}
 
 	@Test
@@ -128,6 +256,7 @@ class PessoaServiceTest {
 		assertThat(pessoaService.salvar(pessoa1))
 				.usingRecursiveComparison()
 				.isEqualTo(pessoa1);
+		verify(eventPublisher).publishEvent(new PessoaSalvaEvento(pessoa1.getId(), pessoa1.getNome()));
 	}
 
 	@Test
@@ -143,6 +272,29 @@ class PessoaServiceTest {
 				.isEqualTo(pessoa1Atualizada);
 	}
 
+	@Test
+	void deveAlterarSoOsCamposInformados_ENaoGravarQuandoNadaMudar() {
+		LocalDate dataNascimento = pessoa1.getDataNascimento();
+		when(pessoaRepository.save(pessoa1)).thenReturn(pessoa1);
+
+		pessoaService.alterar(pessoa1.getId(), new AlteracaoPessoa("Outro nome", null), null);
+		pessoaService.alterar(pessoa1.getId(), new AlteracaoPessoa("Outro nome", dataNascimento), null);
+
+		assertThat(pessoa1.getNome()).isEqualTo("Outro nome");
+		assertThat(pessoa1.getDataNascimento()).isEqualTo(dataNascimento);
+		verify(pessoaRepository, times(1)).save(pessoa1);
+		verify(eventPublisher, times(1)).publishEvent(new PessoaSalvaEvento(pessoa1.getId(), "Outro nome"));
+	}
+
+	@Test
+	void deveLancarExcecao_QuandoAtualizarPessoaComVersaoDesatualizada() {
+		pessoa1.setVersao(2);
+
+		assertThatThrownBy(() -> pessoaService.atualizar(pessoa1.getId(), pessoa2, Set.of("1.0")))
+				.isInstanceOf(VersaoDesatualizadaException.class);
+		verify(pessoaRepository, never()).save(any());
+	}
+
 	@Test
 	void deveLancarExcecao_QuandoAtualizarPessoaInexistente() {
 		Pessoa pessoaInexistente = Pessoa.builder().id(pessoaIdInexistente).build();
@@ -158,6 +310,19 @@ class PessoaServiceTest {
 		pessoaService.remover(pessoa1.getId());
 
 		verify(pessoaRepository).deleteById(pessoa1.getId());
+		verify(eventPublisher).publishEvent(new PessoaRemovidaEvento(pessoa1.getId()));
+		verify(eventPublisher).publishEvent(
+				AlteracaoPessoaEvento.daPessoa(TipoAlteracao.PESSOA_REMOVIDA, pessoa1.getId()));
+	}
+
+	@Test
+	void deveLancarExcecao_QuandoExcluirPessoaComVersaoDesatualizada() {
+		when(pessoaRepository.buscarVersao(pessoa1.getId()))
+				.thenReturn(Optional.of(new VersaoPessoa(2L, 0L)));
+
+		assertThatThrownBy(() -> pessoaService.remover(pessoa1.getId(), Set.of("1.0")))
+				.isInstanceOf(VersaoDesatualizadaException.class);
+		verify(pessoaRepository, never()).deleteById(any());
 	}
 
 	@Test
@@ -165,6 +330,7 @@ class PessoaServiceTest {
 		assertThatThrownBy(() -> pessoaService.remover(pessoaIdInexistente))
 				.isInstanceOf(PessoaNaoEncontradaException.class);
 		verify(pessoaRepository, never()).deleteById(pessoaIdInexistente);
+		verify(eventPublisher, never()).publishEvent(any(Object.class));
 	}
 
 	@Test
@@ -196,14 +362,14 @@ class PessoaServiceTest {
 				.usingRecursiveComparison()
 				.isEqualTo(endereco3);
 		assertThat(pessoa1.getEnderecos()).contains(endereco3);
-		verify(pessoaRepository).findById(pessoa1.getId());
+		verify(pessoaRepository).buscarParaAlteracao(pessoa1.getId());
 		verify(enderecoRepository).save(endereco3);
 	}
 	@Test
 	void deveLancarExcecao_QuandoAdicionarEnderecoAPessoaInexistente() {
 		assertThatThrownBy(() -> pessoaService.adicionarEndereco(pessoaIdInexistente, endereco1))
 				.isInstanceOf(PessoaNaoEncontradaException.class);
-		verify(pessoaRepository).findById(pessoaIdInexistente);
+		verify(pessoaRepository).buscarParaAlteracao(pessoaIdInexistente);
 	}
 
 	@Test
@@ -211,23 +377,46 @@ class PessoaServiceTest {
 		pessoaService.removerEndereco(pessoa1.getId(), endereco1.getId());
 
 		when(pessoaRepository.findById(pessoa1.getId()))
-				.thenReturn(Optional.of(pessoa1.withEnderecos(new ArrayList<>())));
+				.thenReturn(Optional.of(pessoa1.withEnderecos(new LinkedHashSet<>())));
 		assertThat(pessoaService.listarEnderecos(pessoa1.getId()))
 				.doesNotContain(endereco1);
-		verify(pessoaRepository, times(2)).findById(pessoa1.getId());
+		verify(pessoaRepository).buscarParaAlteracao(pessoa1.getId());
 		verify(enderecoRepository).delete(endereco1);
 	}
 
 	@Test
 	void deveLancarExcecao_QuandoTentarRemoverEnderecoQueNaoPertenceAPessoa() {
-		when(enderecoRepository.findById(endereco2.getId()))
-				.thenReturn(Optional.ofNullable(endereco2));
+		when(pessoaRepository.existsById(pessoa1.getId())).thenReturn(true);
+		when(enderecoRepository.existsById(endereco2.getId())).thenReturn(true);
 
 		assertThatThrownBy(() -> pessoaService.removerEndereco(pessoa1.getId(), endereco2.getId()))
 				.isInstanceOf(EnderecoNaoPertenceAPessoaException.class);
 
-		verify(pessoaRepository).findById(pessoa1.getId());
-		verify(enderecoRepository).findById(endereco2.getId());
+		verify(pessoaRepository).buscarParaAlteracao(pessoa1.getId());
+		verify(enderecoRepository, never()).delete(any());
+	}
+
+	@Test
+	void deveLancarExcecao_QuandoBuscarEnderecoInexistente() {
+		when(pessoaRepository.existsById(pessoa1.getId())).thenReturn(true);
+
+		assertThatThrownBy(() -> pessoaService.buscarEndereco(pessoa1.getId(), endereco3.getId()))
+				.isInstanceOf(EnderecoNaoEncontradoException.class);
+	}
+
+	@Test
+	void deveLancarExcecao_QuandoBuscarEnderecoDePessoaInexistente() {
+		assertThatThrownBy(() -> pessoaService.buscarEndereco(pessoaIdInexistente, endereco1.getId()))
+				.isInstanceOf(PessoaNaoEncontradaException.class);
+	}
+
+	@Test
+	void deveBuscarEnderecoSemCarregarAPessoa() {
+		assertThat(pessoaService.buscarEndereco(pessoa1.getId(), endereco1.getId()))
+				.isEqualTo(endereco1);
+
+		verify(enderecoRepository).findByIdAndPessoaId(endereco1.getId(), pessoa1.getId());
+		verify(pessoaRepository, never()).findById(any());
 	}
 
 	@Test
@@ -238,7 +427,8 @@ class PessoaServiceTest {
 				.usingRecursiveComparison()
 				.isEqualTo(endereco3);
 		assertThat(pessoa1.getEnderecoPrincipal()).isEqualTo(endereco3);
-		verify(pessoaRepository).findById(pessoa1.getId());
+		assertThat(pessoa1.getResumoEnderecoPrincipal()).isEqualTo(new ResumoEndereco("33333-333", "Cidade C"));
+		verify(pessoaRepository).buscarParaAlteracao(pessoa1.getId());
 		verify(pessoaRepository).save(pessoa1);
 	}
 
@@ -252,7 +442,7 @@ class PessoaServiceTest {
 				.isEqualTo(endereco1);
 
 		assertThat(pessoa1.getEnderecoPrincipal()).isEqualTo(endereco1);
-		verify(pessoaRepository).findById(pessoa1.getId());
+		verify(pessoaRepository).buscarParaAlteracao(pessoa1.getId());
 		verify(pessoaRepository).save(pessoa1);
 		verify(enderecoRepository).save(endereco1);
 	}
@@ -265,11 +455,55 @@ class PessoaServiceTest {
 		pessoaService.removerEndereco(pessoa1.getId(), endereco1.getId());
 
 		assertThat(pessoa1.getEnderecoPrincipal()).isEqualTo(endereco2);
-		verify(pessoaRepository).findById(pessoa1.getId());
-		verify(enderecoRepository).findById(endereco1.getId());
+		assertThat(pessoa1.getResumoEnderecoPrincipal()).isEqualTo(new ResumoEndereco("22222-222", "Cidade B"));
+		verify(pessoaRepository).buscarParaAlteracao(pessoa1.getId());
 		verify(enderecoRepository).delete(endereco1);
 	}
 
+	@Test
+	void deveManterEnderecoPrincipal_QuandoRemoverOutroEndereco() {
+		pessoa1.getEnderecos().add(endereco2);
+		pessoa1.setEnderecoPrincipal(endereco2);
+
+		pessoaService.removerEndereco(pessoa1.getId(), endereco1.getId());
+
+		assertThat(pessoa1.getEnderecos()).containsExactly(endereco2);
+		assertThat(pessoa1.getEnderecoPrincipal()).isEqualTo(endereco2);
+		verify(enderecoRepository).delete(endereco1);
+	}
+
+	@Test
+	void deveAplicarLoteDeEnderecos_ResolvendoOPrincipalUmaVez() {
+		pessoa1.getEnderecos().add(endereco2);
+		endereco3.setId(null);
+
+		Pessoa pessoa = pessoaService.aplicarLoteEnderecos(pessoa1.getId(), new LoteEnderecos(
+				List.of(endereco3), Map.of(endereco2.getId(), new AlteracaoEndereco(null, "44444-444", null, null)),
+				Set.of(endereco1.getId())), null);
+
+		assertThat(pessoa.getEnderecos()).containsExactly(endereco2, endereco3);
+		assertThat(pessoa.getEnderecoPrincipal()).isEqualTo(endereco2);
+		assertThat(pessoa.getResumoEnderecoPrincipal()).isEqualTo(new ResumoEndereco("44444-444", "Cidade B"));
+		assertThat(endereco2.getCep()).isEqualTo("44444-444");
+		assertThat(endereco3.getPessoaId()).isEqualTo(pessoa1.getId());
+		verify(pessoaRepository).buscarParaAlteracao(pessoa1.getId());
+		verify(enderecoRepository).deleteAll(List.of(endereco1));
+		verify(enderecoRepository).saveAll(List.of(endereco3));
+		verify(eventPublisher, times(3)).publishEvent(any(AlteracaoPessoaEvento.class));
+	}
+
+	@Test
+	void deveLancarExcecao_QuandoLoteAlterarERemoverOMesmoEndereco() {
+		LoteEnderecos lote = new LoteEnderecos(null,
+				Map.of(endereco1.getId(), new AlteracaoEndereco("Rua X", null, null, null)), Set.of(endereco1.getId()));
+
+		assertThatThrownBy(() -> pessoaService.aplicarLoteEnderecos(pessoa1.getId(), lote, null))
+				.isInstanceOf(LoteEnderecosInvalidoException.class);
+
+		verify(enderecoRepository, never()).deleteAll(any());
+		assertThat(endereco1.getLogradouro()).isEqualTo("Rua A");
+	}
+
 	@Test
 	void deveAtualizarEndereco() {
 		endereco2.setId(null);
@@ -279,20 +513,25 @@ class PessoaServiceTest {
 				.usingRecursiveComparison()
 				.isEqualTo(endereco2);
 
-		verify(pessoaRepository).findById(pessoa1.getId());
-		verify(enderecoRepository).findById(endereco1.getId());
-		verify(enderecoRepository).save(endereco2.withId(endereco1.getId()));
+		verify(enderecoRepository).findByIdAndPessoaId(endereco1.getId(), pessoa1.getId());
+		verify(enderecoRepository).save(endereco1);
+		assertThat(endereco1)
+				.usingRecursiveComparison()
+				.comparingOnlyFields("logradouro", "cep", "numero", "cidade")
+				.isEqualTo(endereco2);
+		assertThat(pessoa1.getResumoEnderecoPrincipal()).isEqualTo(new ResumoEndereco("22222-222", "Cidade B"));
 	}
 
 	@Test
 	void deveLancarExcecao_QuandoTentarAtualizarEnderecoQueNaoPertenceAPessoa() {
-		when(enderecoRepository.findById(endereco2.getId())).thenReturn(Optional.of(endereco2));
+		when(pessoaRepository.existsById(pessoa1.getId())).thenReturn(true);
+		when(enderecoRepository.existsById(endereco2.getId())).thenReturn(true);
 
 		assertThatThrownBy(() -> pessoaService.atualizarEndereco(pessoa1.getId(), endereco2.getId(), endereco3))
 				.isInstanceOf(EnderecoNaoPertenceAPessoaException.class);
 
-		verify(pessoaRepository).findById(pessoa1.getId());
-		verify(enderecoRepository).findById(endereco2.getId());
+		verify(enderecoRepository).findByIdAndPessoaId(endereco2.getId(), pessoa1.getId());
+		verify(enderecoRepository, never()).save(any());
 	}
 
 }